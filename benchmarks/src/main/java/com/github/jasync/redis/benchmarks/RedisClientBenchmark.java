@@ -0,0 +1,86 @@
+package com.github.jasync.redis.benchmarks;
+
+import com.github.jasync.redis.AsyncRedisClient;
+import com.github.jasync.redis.RedisQuery;
+import com.github.jasync.redis.RedisStandInServer;
+import com.github.jasync.redis.engine.AsyncRedisBuilder;
+import com.github.jasync.redis.engine.AsyncRedisConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisClientBenchmark {
+
+    private RedisStandInServer server;
+    private AsyncRedisClient client;
+
+    @Setup
+    public void setup() throws Exception {
+        server = new RedisStandInServer();
+        client = AsyncRedisBuilder.start(AsyncRedisConfiguration.withDefault()
+                .withHost(server.getHost())
+                .withPort(server.getPort())
+                .withMaxActiveChannels(4)
+                .withMaxPipelinedCommands(128), 10, TimeUnit.SECONDS);
+        client.runCommand(SET, KEY, VALUE).get();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.shutdown();
+        server.close();
+    }
+
+    @Benchmark
+    public Object runCommand() throws InterruptedException, ExecutionException {
+        return client.runCommand(GET, KEY).get().getType();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object runCommandContended() throws InterruptedException, ExecutionException {
+        return client.runCommand(GET, KEY).get().getType();
+    }
+
+    @Benchmark
+    public Object runQuery(Batch batch) throws InterruptedException, ExecutionException {
+        RedisQuery query = client.buildQuery();
+        for (int i = 0; i < batch.size; i++) {
+            query.withQuery(GET, KEY);
+        }
+        return query.proceed().get().getType();
+    }
+
+    @State(Scope.Thread)
+    public static class Batch {
+
+        @Param({"10", "100"})
+        public int size;
+
+    }
+
+    private static final String GET = "get";
+    private static final String SET = "set";
+    private static final String KEY = "benchmark:key";
+    private static final String VALUE = "benchmark:value";
+
+}
@@ -0,0 +1,158 @@
+package com.github.jasync.redis.benchmarks;
+
+import com.github.jasync.redis.JavaRedisDeserializer;
+import com.github.jasync.redis.utils.NettyRedisDecoder;
+import com.github.jasync.redis.utils.NettyRedisEncoder;
+import com.github.jasync.redis.utils.RedisConverter;
+import com.github.jasync.redis.utils.RedisReplyListener;
+import com.github.jasync.redis.utils.RedisRequest;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisCodecBenchmark {
+
+    @Param({"16", "1024"})
+    public int valueSize;
+
+    private String value;
+    private EmbeddedChannel encoder;
+    private EmbeddedChannel decoder;
+    private ReplyCollector replies;
+    private ByteBuf bulkReply;
+    private ByteBuf arrayReply;
+
+    @Setup
+    public void setup() {
+        char[] chars = new char[valueSize];
+        Arrays.fill(chars, 'x');
+        value = new String(chars);
+        encoder = new EmbeddedChannel(new NettyRedisEncoder());
+        replies = new ReplyCollector();
+        decoder = new EmbeddedChannel(new NettyRedisDecoder(replies));
+        String bulk = "$" + valueSize + "\r\n" + value + "\r\n";
+        StringBuilder array = new StringBuilder("*").append(ARRAY_SIZE).append("\r\n");
+        for (int i = 0; i < ARRAY_SIZE; i++) {
+            array.append(bulk);
+        }
+        bulkReply = Unpooled.unreleasableBuffer(Unpooled.directBuffer().writeBytes(bulk.getBytes(CharsetUtil.US_ASCII)));
+        arrayReply = Unpooled.unreleasableBuffer(Unpooled.directBuffer().writeBytes(array.toString().getBytes(CharsetUtil.US_ASCII)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoder.finishAndReleaseAll();
+        decoder.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public RedisRequest createRequest() {
+        return RedisConverter.createRequest(SET, KEY, null, value);
+    }
+
+    @Benchmark
+    public int encode() {
+        encoder.writeOutbound(RedisConverter.createRequest(SET, KEY, null, value));
+        ByteBuf out = encoder.readOutbound();
+        int size = out.readableBytes();
+        out.release();
+        return size;
+    }
+
+    @Benchmark
+    public Object decodeBulkString() {
+        decoder.writeInbound(bulkReply.duplicate());
+        return replies.take();
+    }
+
+    @Benchmark
+    public Object decodeArray() {
+        decoder.writeInbound(arrayReply.duplicate());
+        return replies.take();
+    }
+
+    private static final class ReplyCollector implements RedisReplyListener {
+
+        private Object reply;
+
+        private Object take() {
+            Object taken = reply;
+            reply = null;
+            return taken;
+        }
+
+        @Override
+        public JavaRedisDeserializer getReplyDeserializer() {
+            return null;
+        }
+
+        @Override
+        public boolean isLongReply() {
+            return false;
+        }
+
+        @Override
+        public boolean isStreamReply() {
+            return false;
+        }
+
+        @Override
+        public boolean isReadSuspended() {
+            return false;
+        }
+
+        @Override
+        public void onElement(Object element) {
+            RedisConverter.release(element);
+        }
+
+        @Override
+        public void onReply(Object reply) {
+            this.reply = reply;
+        }
+
+        @Override
+        public void onLong(long reply) {
+            this.reply = reply;
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.reply = error;
+        }
+
+        @Override
+        public void onPush(List<Object> message) {
+            this.reply = message;
+        }
+
+    }
+
+    private static final String SET = "set";
+    private static final String KEY = "benchmark:key";
+    private static final int ARRAY_SIZE = 10;
+
+}
@@ -0,0 +1,64 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.RedisStandInServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class AsyncRedisChannelPoolBenchmark {
+
+    @Param({"1", "8"})
+    public int channels;
+
+    @Param({"1", "4"})
+    public int consumers;
+
+    private RedisStandInServer server;
+    private AsyncRedisClientImpl client;
+    private AsyncRedisChannelPool pool;
+
+    @Setup
+    public void setup() throws Exception {
+        server = new RedisStandInServer();
+        client = (AsyncRedisClientImpl) AsyncRedisBuilder.start(AsyncRedisConfiguration.withDefault()
+                .withHost(server.getHost())
+                .withPort(server.getPort())
+                .withMaxActiveChannels(channels)
+                .withMinActiveChannels(channels)
+                .withConsumers(consumers), 10, TimeUnit.SECONDS);
+        pool = client.getConnectionPool();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.shutdown();
+        server.close();
+    }
+
+    @Benchmark
+    public AsyncRedisChannel acquireAndReturn() {
+        AsyncRedisChannel channel = pool.acquireChannel().join();
+        pool.returnChannel(channel);
+        return channel;
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.github.jasync.redis;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.function.LongConsumer;
 
 public interface AsyncRedisClient {
 
@@ -8,8 +9,18 @@ public interface AsyncRedisClient {
 
     CompletableFuture<RedisReport> runScript(String script, Object... args);
 
+    CompletableFuture<Void> runLongCommand(String command, String key, LongConsumer consumer, Object... args);
+
+    CompletableFuture<long[]> runLongArrayCommand(String command, String key, Object... args);
+
+    void runStreamCommand(String command, String key, JavaRedisDeserializer deserializer, RedisStreamSubscriber subscriber, Object... args);
+
     RedisQuery buildQuery();
 
+    RedisScan buildScan(String command, String key);
+
+    RedisStatistics getStatistics();
+
     void shutdown();
 
 }
@@ -0,0 +1,19 @@
+package com.github.jasync.redis;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+public interface JavaRedisBufferDeserializer extends JavaRedisDeserializer {
+
+    int MIN_RETAINED_SIZE = 64 * 1024;
+
+    JavaRedisBufferDeserializer RETAINED = buffer -> buffer.readableBytes() < MIN_RETAINED_SIZE ? buffer.copy() : buffer.retainedDuplicate();
+
+    Object deserialize(ByteBuf buffer);
+
+    @Override
+    default Object deserialize(byte[] bytes) {
+        return deserialize(Unpooled.wrappedBuffer(bytes).asReadOnly());
+    }
+
+}
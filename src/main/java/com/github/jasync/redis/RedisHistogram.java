@@ -0,0 +1,13 @@
+package com.github.jasync.redis;
+
+public interface RedisHistogram {
+
+    long getCount();
+
+    long getMax();
+
+    double getMean();
+
+    long getValueAtPercentile(double percentile);
+
+}
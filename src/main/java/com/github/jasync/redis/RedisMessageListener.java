@@ -0,0 +1,7 @@
+package com.github.jasync.redis;
+
+public interface RedisMessageListener {
+
+    void onMessage(String channel, Object message);
+
+}
@@ -0,0 +1,7 @@
+package com.github.jasync.redis;
+
+public interface RedisMetricsListener {
+
+    void onCommand(String command, long queueNanos, long wireNanos, boolean failed);
+
+}
@@ -0,0 +1,11 @@
+package com.github.jasync.redis;
+
+public class RedisOverloadException extends RuntimeException {
+
+    public RedisOverloadException(String message) {
+        super(message);
+    }
+
+    private static final long serialVersionUID = 1L;
+
+}
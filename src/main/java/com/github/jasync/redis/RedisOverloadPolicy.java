@@ -0,0 +1,5 @@
+package com.github.jasync.redis;
+
+public enum RedisOverloadPolicy {
+    FAIL_FAST, BLOCK, ASYNC, ADAPTIVE
+}
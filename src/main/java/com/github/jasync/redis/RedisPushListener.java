@@ -0,0 +1,9 @@
+package com.github.jasync.redis;
+
+import java.util.List;
+
+public interface RedisPushListener {
+
+    void onPush(List<Object> message);
+
+}
@@ -1,6 +1,7 @@
 package com.github.jasync.redis;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public interface RedisQuery {
 
@@ -20,6 +21,8 @@ public interface RedisQuery {
 
     RedisQuery withScript(String script, JavaRedisSerializer serializer, JavaRedisDeserializer deserializer, Object... args);
 
+    RedisQuery withTimeout(long timeout, TimeUnit timeUnit);
+
     CompletableFuture<RedisReport> proceed();
 
 }
@@ -0,0 +1,5 @@
+package com.github.jasync.redis;
+
+public enum RedisReadFrom {
+    PRIMARY, REPLICA_PREFERRED, NEAREST
+}
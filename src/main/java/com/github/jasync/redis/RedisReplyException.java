@@ -0,0 +1,11 @@
+package com.github.jasync.redis;
+
+public class RedisReplyException extends RuntimeException {
+
+    public RedisReplyException(String message) {
+        super(message);
+    }
+
+    private static final long serialVersionUID = 1L;
+
+}
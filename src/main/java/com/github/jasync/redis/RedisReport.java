@@ -1,6 +1,8 @@
 package com.github.jasync.redis;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public interface RedisReport {
 
@@ -14,4 +16,12 @@ public interface RedisReport {
 
     List<Object> getList();
 
+    Map<Object, Object> getMap();
+
+    Set<Object> getSet();
+
+    Double getDouble();
+
+    Boolean getBoolean();
+
 }
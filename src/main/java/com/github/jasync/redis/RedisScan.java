@@ -0,0 +1,22 @@
+package com.github.jasync.redis;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public interface RedisScan {
+
+    RedisScan withMatch(String pattern);
+
+    RedisScan withCount(int count);
+
+    RedisScan withDeserializer(JavaRedisDeserializer deserializer);
+
+    RedisScan withPrefetch(int pages);
+
+    CompletableFuture<Void> forEachPage(Consumer<List<Object>> consumer);
+
+    Stream<Object> stream();
+
+}
@@ -0,0 +1,37 @@
+package com.github.jasync.redis;
+
+import java.util.SortedMap;
+
+public interface RedisStatistics {
+
+    long getFlushes();
+
+    SortedMap<Integer, Long> getFlushBatchSizes();
+
+    long getNearCacheHits();
+
+    long getNearCacheMisses();
+
+    long getNearCacheEvictions();
+
+    long getNearCacheInvalidations();
+
+    int getPendingCommands();
+
+    long getRejectedCommands();
+
+    int getConcurrencyLimit();
+
+    int getChannels();
+
+    int getIdleChannels();
+
+    long getReconnects();
+
+    long getTopologyRefreshFailures();
+
+    SortedMap<String, RedisHistogram> getQueueTimes();
+
+    SortedMap<String, RedisHistogram> getWireTimes();
+
+}
@@ -0,0 +1,13 @@
+package com.github.jasync.redis;
+
+public interface RedisStreamSubscriber {
+
+    void onSubscribe(RedisStreamSubscription subscription);
+
+    void onNext(Object element);
+
+    void onError(Throwable error);
+
+    void onComplete();
+
+}
@@ -0,0 +1,9 @@
+package com.github.jasync.redis;
+
+public interface RedisStreamSubscription {
+
+    void request(long elements);
+
+    void cancel();
+
+}
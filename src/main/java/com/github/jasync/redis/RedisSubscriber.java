@@ -0,0 +1,17 @@
+package com.github.jasync.redis;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface RedisSubscriber {
+
+    CompletableFuture<Void> subscribe(RedisMessageListener listener, String... channels);
+
+    CompletableFuture<Void> psubscribe(RedisMessageListener listener, String... patterns);
+
+    CompletableFuture<Void> unsubscribe(String... channels);
+
+    CompletableFuture<Void> punsubscribe(String... patterns);
+
+    void shutdown();
+
+}
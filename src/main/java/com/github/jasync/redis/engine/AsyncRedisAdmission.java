@@ -0,0 +1,192 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.RedisOverloadException;
+import com.github.jasync.redis.RedisOverloadPolicy;
+import com.github.jasync.redis.RedisTimeoutException;
+import io.netty.util.concurrent.FastThreadLocalThread;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class AsyncRedisAdmission {
+
+    private final RedisOverloadPolicy policy;
+    private final int maxLimit;
+    private final long maxDelay;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight;
+    private final AtomicInteger waiting;
+    private final AtomicInteger blocked;
+    private final AtomicLong rejections;
+    private final Queue<CompletableFuture<Void>> waiters;
+    private final Object monitor;
+    private final AtomicLong minLatency;
+    private final AtomicLong lastDecrease;
+    private volatile long windowStart;
+
+    AsyncRedisAdmission(RedisOverloadPolicy policy, int maxLimit, long maxDelay) {
+        this.policy = policy;
+        this.maxLimit = maxLimit;
+        this.maxDelay = maxDelay;
+        this.limit = new AtomicInteger(policy == RedisOverloadPolicy.ADAPTIVE ? Math.min(INITIAL_LIMIT, maxLimit) : maxLimit);
+        this.inFlight = new AtomicInteger(0);
+        this.waiting = new AtomicInteger(0);
+        this.blocked = new AtomicInteger(0);
+        this.rejections = new AtomicLong(0);
+        this.waiters = new ConcurrentLinkedQueue<>();
+        this.monitor = new Object();
+        this.minLatency = new AtomicLong(Long.MAX_VALUE);
+        this.lastDecrease = new AtomicLong(0);
+        this.windowStart = System.nanoTime();
+    }
+
+    CompletableFuture<Void> acquire() {
+        if (tryAcquire()) {
+            return ADMITTED;
+        }
+        switch (policy) {
+            case BLOCK:
+                if (Thread.currentThread() instanceof FastThreadLocalThread) {
+                    return enqueue();
+                }
+                await();
+                return ADMITTED;
+            case ASYNC:
+                return enqueue();
+            default:
+                throw reject();
+        }
+    }
+
+    void release(long nanos, Throwable error) {
+        if (policy == RedisOverloadPolicy.ADAPTIVE) {
+            adapt(nanos, error);
+        }
+        inFlight.decrementAndGet();
+        if (!waiters.isEmpty()) {
+            drain();
+        }
+        if (blocked.get() > 0) {
+            synchronized (monitor) {
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    int getPendingCommands() {
+        return inFlight.get() + waiting.get();
+    }
+
+    long getRejectedCommands() {
+        return rejections.get();
+    }
+
+    int getLimit() {
+        return limit.get();
+    }
+
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void await() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelay);
+        blocked.incrementAndGet();
+        try {
+            synchronized (monitor) {
+                while (!tryAcquire()) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw reject();
+                    }
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(monitor, remaining);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw reject();
+                    }
+                }
+            }
+        } finally {
+            blocked.decrementAndGet();
+        }
+    }
+
+    private CompletableFuture<Void> enqueue() {
+        if (waiting.incrementAndGet() > maxLimit) {
+            waiting.decrementAndGet();
+            throw reject();
+        }
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        waiter.whenComplete((ignored, error) -> {
+            if (error != null && waiters.remove(waiter)) {
+                waiting.decrementAndGet();
+            }
+        });
+        AsyncRedisDeadlines.schedule(waiter, maxDelay, this::reject);
+        drain();
+        return waiter;
+    }
+
+    private void drain() {
+        while (!waiters.isEmpty() && tryAcquire()) {
+            CompletableFuture<Void> waiter = waiters.poll();
+            if (waiter == null) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            waiting.decrementAndGet();
+            if (!waiter.complete(null)) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private void adapt(long nanos, Throwable error) {
+        long now = System.nanoTime();
+        if (now - windowStart > LATENCY_WINDOW) {
+            windowStart = now;
+            minLatency.set(nanos);
+        }
+        long best = minLatency.get();
+        while (nanos < best && !minLatency.compareAndSet(best, nanos)) {
+            best = minLatency.get();
+        }
+        best = Math.min(best, nanos);
+        int current = limit.get();
+        if (error instanceof RedisTimeoutException || nanos > Math.max(best * LATENCY_TOLERANCE, best + MIN_QUEUEING_DELAY)) {
+            long last = lastDecrease.get();
+            if (now - last > best && lastDecrease.compareAndSet(last, now)) {
+                limit.compareAndSet(current, Math.max(MIN_LIMIT, (int) (current * BACKOFF_RATIO)));
+            }
+        } else if (current < maxLimit && inFlight.get() * 2 >= current) {
+            limit.compareAndSet(current, current + 1);
+        }
+    }
+
+    private RedisOverloadException reject() {
+        rejections.incrementAndGet();
+        return new RedisOverloadException("The queue is full");
+    }
+
+    private static final CompletableFuture<Void> ADMITTED = CompletableFuture.completedFuture(null);
+    private static final int INITIAL_LIMIT = 20;
+    private static final int MIN_LIMIT = 1;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final long LATENCY_TOLERANCE = 2;
+    private static final long MIN_QUEUEING_DELAY = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long LATENCY_WINDOW = TimeUnit.SECONDS.toNanos(10);
+
+}
@@ -2,12 +2,95 @@ package com.github.jasync.redis.engine;
 
 import com.github.jasync.redis.AsyncRedisClient;
 
-import java.util.concurrent.LinkedBlockingQueue;
+import com.github.jasync.redis.RedisMetricsListener;
+import com.github.jasync.redis.RedisOverloadPolicy;
+import com.github.jasync.redis.RedisPushListener;
+import com.github.jasync.redis.RedisReadFrom;
+import com.github.jasync.redis.RedisSubscriber;
+import io.netty.channel.EventLoopGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
 
 public class AsyncRedisBuilder {
 
     public static AsyncRedisClient start(AsyncRedisConfiguration configuration) {
+        AsyncRedisClient asyncRedisClient = build(configuration);
+        start(asyncRedisClient);
+        return asyncRedisClient;
+    }
+
+    public static AsyncRedisClient start(AsyncRedisConfiguration configuration, long readyTimeout, TimeUnit timeUnit) {
+        AsyncRedisClient asyncRedisClient = build(configuration);
+        try {
+            start(asyncRedisClient).get(readyTimeout, timeUnit);
+        } catch (InterruptedException iex) {
+            Thread.currentThread().interrupt();
+            asyncRedisClient.shutdown();
+            throw new IllegalStateException("The client has not been started", iex);
+        } catch (ExecutionException | TimeoutException ex) {
+            asyncRedisClient.shutdown();
+            throw new IllegalStateException("The client has not been started", ex);
+        }
+        return asyncRedisClient;
+    }
+
+    public static RedisSubscriber startSubscriber(AsyncRedisConfiguration configuration) {
+        String node;
+        if (!configuration.getClusterNodes().isEmpty()) {
+            validateNodes(configuration.getClusterNodes(), "cluster-node");
+            node = configuration.getClusterNodes().get(0);
+        } else {
+            String host = configuration.getHost();
+            if (host == null || host.length() == 0) {
+                throw new IllegalStateException("The host can not be empty");
+            }
+            if (configuration.getPort() < 1) {
+                throw new IllegalStateException("The port can not be less then 1");
+            }
+            node = host + ':' + configuration.getPort();
+        }
+        int subscriberChannels = Math.max(configuration.getSubscriberChannels(), 1);
+        int maxSubscribeBatch = Math.max(configuration.getMaxSubscribeBatch(), 1);
+        int messageStripes = Math.max(configuration.getMessageStripes(), 1);
+        long minReconnectDelay = Math.max(configuration.getMinReconnectDelay(), 1);
+        long maxReconnectDelay = Math.max(configuration.getMaxReconnectDelay(), minReconnectDelay);
+        AsyncRedisSubscriber subscriber = new AsyncRedisSubscriber(getHost(node), getPort(node), subscriberChannels,
+                maxSubscribeBatch, minReconnectDelay, maxReconnectDelay, configuration.getMessageExecutor(), messageStripes);
+        subscriber.start();
+        return subscriber;
+    }
+
+    private static CompletableFuture<Void> start(AsyncRedisClient asyncRedisClient) {
+        if (asyncRedisClient instanceof AsyncRedisClusterClientImpl) {
+            return ((AsyncRedisClusterClientImpl) asyncRedisClient).start();
+        }
+        if (asyncRedisClient instanceof AsyncRedisShardedClientImpl) {
+            return ((AsyncRedisShardedClientImpl) asyncRedisClient).start();
+        }
+        if (asyncRedisClient instanceof AsyncRedisReplicatedClientImpl) {
+            return ((AsyncRedisReplicatedClientImpl) asyncRedisClient).start();
+        }
+        return ((AsyncRedisClientImpl) asyncRedisClient).start();
+    }
+
+    private static AsyncRedisClient build(AsyncRedisConfiguration configuration) {
+        RedisReadFrom readFrom = configuration.getReadFrom();
+        if (readFrom == null) {
+            throw new IllegalStateException("The read-from can not be empty");
+        }
+        if (!configuration.getClusterNodes().isEmpty()) {
+            return buildCluster(configuration, readFrom);
+        }
+        if (!configuration.getShards().isEmpty()) {
+            return buildSharded(configuration);
+        }
         String host = configuration.getHost();
         if (host == null || host.length() == 0) {
             throw new IllegalStateException("The host can not be empty");
@@ -16,43 +99,153 @@ public class AsyncRedisBuilder {
         if (port < 1) {
             throw new IllegalStateException("The port can not be less then 1");
         }
+        if (configuration.getReplicas().isEmpty()) {
+            return createNodeFactory(configuration, null, false).apply(host, port);
+        }
+        List<String> replicas = configuration.getReplicas();
+        validateNodes(replicas, "replica");
+        if (configuration.getNearCacheSize() > 0) {
+            throw new IllegalStateException("The near-cache can not be used with replicas");
+        }
+        EventLoopGroup workerGroup = AsyncRedisChannelPool.createLoopGroup(Math.max(configuration.getConsumers(), 1));
+        try {
+            BiFunction<String, Integer, AsyncRedisClientImpl> nodeFactory = createNodeFactory(configuration, workerGroup, false);
+            List<AsyncRedisClientImpl> replicaClients = new ArrayList<>(replicas.size());
+            for (String replica : replicas) {
+                replicaClients.add(nodeFactory.apply(getHost(replica), getPort(replica)));
+            }
+            return new AsyncRedisReplicatedClientImpl(nodeFactory.apply(host, port), replicaClients, readFrom, workerGroup);
+        } catch (RuntimeException ex) {
+            workerGroup.shutdownGracefully();
+            throw ex;
+        }
+    }
+
+    private static AsyncRedisClusterClientImpl buildCluster(AsyncRedisConfiguration configuration, RedisReadFrom readFrom) {
+        List<String> clusterNodes = configuration.getClusterNodes();
+        validateNodes(clusterNodes, "cluster-node");
+        if (configuration.getDb() > 0) {
+            throw new IllegalStateException("The db can not be selected in cluster mode");
+        }
+        if (configuration.getNearCacheSize() > 0) {
+            throw new IllegalStateException("The near-cache can not be used in cluster mode");
+        }
+        EventLoopGroup workerGroup = AsyncRedisChannelPool.createLoopGroup(Math.max(configuration.getConsumers(), 1));
+        try {
+            return new AsyncRedisClusterClientImpl(clusterNodes, createNodeFactory(configuration, workerGroup, false),
+                    readFrom == RedisReadFrom.PRIMARY ? null : createNodeFactory(configuration, workerGroup, true),
+                    readFrom, workerGroup, Math.max(configuration.getMaxRedirects(), 0),
+                    Math.max(configuration.getCommandTimeout(), 1));
+        } catch (RuntimeException ex) {
+            workerGroup.shutdownGracefully();
+            throw ex;
+        }
+    }
+
+    private static AsyncRedisShardedClientImpl buildSharded(AsyncRedisConfiguration configuration) {
+        Map<String, Integer> shards = configuration.getShards();
+        validateNodes(new ArrayList<>(shards.keySet()), "shard");
+        for (int weight : shards.values()) {
+            if (weight < 1) {
+                throw new IllegalStateException("The shard weight can not be less then 1");
+            }
+        }
+        if (configuration.getNearCacheSize() > 0) {
+            throw new IllegalStateException("The near-cache can not be used in sharded mode");
+        }
+        EventLoopGroup workerGroup = AsyncRedisChannelPool.createLoopGroup(Math.max(configuration.getConsumers(), 1));
+        try {
+            BiFunction<String, Integer, AsyncRedisClientImpl> nodeFactory = createNodeFactory(configuration, workerGroup, false);
+            return new AsyncRedisShardedClientImpl(shards, node -> nodeFactory.apply(getHost(node), getPort(node)), workerGroup,
+                    Math.max(configuration.getCommandTimeout(), 1));
+        } catch (RuntimeException ex) {
+            workerGroup.shutdownGracefully();
+            throw ex;
+        }
+    }
+
+    static void validateNodes(List<String> nodes, String name) {
+        for (String node : nodes) {
+            int separator = node == null ? -1 : node.lastIndexOf(':');
+            if (separator < 1 || separator == node.length() - 1) {
+                throw new IllegalStateException("The " + name + " can not be other then host:port: " + node);
+            }
+            try {
+                Integer.parseInt(node.substring(separator + 1));
+            } catch (NumberFormatException ex) {
+                throw new IllegalStateException("The " + name + " can not be other then host:port: " + node);
+            }
+        }
+    }
+
+    static String getHost(String node) {
+        return node.substring(0, node.lastIndexOf(':'));
+    }
+
+    static int getPort(String node) {
+        return Integer.parseInt(node.substring(node.lastIndexOf(':') + 1));
+    }
+
+    private static BiFunction<String, Integer, AsyncRedisClientImpl> createNodeFactory(AsyncRedisConfiguration configuration,
+                                                                                       EventLoopGroup workerGroup,
+                                                                                       boolean readOnly) {
         int db = configuration.getDb();
-        int maxChannels = configuration.getMaxActiveChannels();
-        if (maxChannels < 1) {
+        if (configuration.getMaxActiveChannels() < 1) {
             throw new IllegalStateException("The max-active-channels can not be less then 1");
         }
-        int minChannels = configuration.getMinActiveChannels();
-        if (minChannels < 0) {
-            minChannels = 0;
-        }
-        if (minChannels > maxChannels) {
-            maxChannels = minChannels;
+        int minChannels = Math.max(configuration.getMinActiveChannels(), 0);
+        int maxChannels = Math.max(configuration.getMaxActiveChannels(), minChannels);
+        int maxPipelinedCommands = Math.max(configuration.getMaxPipelinedCommands(), 1);
+        int maxFlushCommands = configuration.getMaxFlushCommands();
+        long maxFlushDelay = configuration.getMaxFlushDelay();
+        if (maxFlushCommands > 1 && maxFlushDelay < 1) {
+            throw new IllegalStateException("The max-flush-delay can not be less then 1 microsecond");
         }
         long idleTimeout = configuration.getMaxIdleChannelTimeout();
         if (idleTimeout < 10000) {
             throw new IllegalStateException("The idle-channel-timeout can not be less then 10 seconds");
         }
-        int consumers = configuration.getConsumers();
-        if (consumers < 1) {
-            consumers = 1;
+        int consumers = Math.max(configuration.getConsumers(), 1);
+        long commandTimeout = Math.max(configuration.getCommandTimeout(), 1);
+        long acquireTimeout = Math.max(configuration.getAcquireChannelTimeout(), 1);
+        long minReconnectDelay = Math.max(configuration.getMinReconnectDelay(), 1);
+        long maxReconnectDelay = Math.max(configuration.getMaxReconnectDelay(), minReconnectDelay);
+        int queueSize = Math.max(configuration.getMaxPendingCommands(), 10);
+        RedisOverloadPolicy overloadPolicy = configuration.getOverloadPolicy();
+        if (overloadPolicy == null) {
+            throw new IllegalStateException("The overload-policy can not be empty");
         }
-        long commandTimeout = configuration.getCommandTimeout();
-        if (commandTimeout < 1000) {
-            commandTimeout = 1000;
+        long maxAdmissionDelay = Math.max(configuration.getMaxAdmissionDelay(), 1);
+        int protocolVersion = configuration.getProtocolVersion();
+        if (protocolVersion != 2 && protocolVersion != 3) {
+            throw new IllegalStateException("The protocol-version can not be other then 2 or 3");
         }
-        commandTimeout = TimeUnit.SECONDS.toSeconds(commandTimeout);
-        int queueSize = configuration.getMaxPendingCommands();
-        if (queueSize < 10) {
-            queueSize = 10;
-        }
-
-        AsyncRedisChannelPool channelPool = new AsyncRedisChannelPool(host, port, db, maxChannels, minChannels, idleTimeout, consumers);
-        AsyncRedisClientImpl asyncRedisClient = new AsyncRedisClientImpl(channelPool, new LinkedBlockingQueue<>(queueSize), consumers);
+        AsyncRedisNearCache nearCache = createNearCache(configuration);
+        RedisPushListener pushListener = configuration.getPushListener();
+        RedisMetricsListener metricsListener = configuration.getMetricsListener();
+        boolean jmx = configuration.isJmx();
+        boolean metrics = configuration.isMetrics() || metricsListener != null || jmx;
 
-        channelPool.start((int) commandTimeout);
-        asyncRedisClient.start(consumers);
+        return (host, port) -> {
+            AsyncRedisChannelPool channelPool = new AsyncRedisChannelPool(host, port, db, maxChannels, minChannels, maxPipelinedCommands,
+                    maxFlushCommands, maxFlushDelay, idleTimeout, commandTimeout, acquireTimeout,
+                    minReconnectDelay, maxReconnectDelay, consumers, workerGroup, nearCache,
+                    new AsyncRedisAdmission(overloadPolicy, queueSize, maxAdmissionDelay),
+                    metrics ? new AsyncRedisMetrics(metricsListener) : null, jmx, protocolVersion, pushListener, readOnly);
+            return new AsyncRedisClientImpl(channelPool);
+        };
+    }
 
-        return asyncRedisClient;
+    private static AsyncRedisNearCache createNearCache(AsyncRedisConfiguration configuration) {
+        int nearCacheSize = configuration.getNearCacheSize();
+        if (nearCacheSize <= 0) {
+            return null;
+        }
+        long nearCacheTimeToLive = configuration.getNearCacheTimeToLive();
+        if (nearCacheTimeToLive < 1) {
+            throw new IllegalStateException("The near-cache-time-to-live can not be less then 1 millisecond");
+        }
+        return new AsyncRedisNearCache(nearCacheSize, nearCacheTimeToLive);
     }
 
 }
@@ -1,79 +1,61 @@
 package com.github.jasync.redis.engine;
 
-import com.github.jasync.redis.RedisReport;
 import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
 
 import java.time.Instant;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class AsyncRedisChannel {
 
     private final Channel nettyChannel;
-    private final AtomicReference<ChannelInfo> channelInfo;
+    private final AtomicBoolean established;
+    private final AtomicBoolean pooled;
+    private final AtomicInteger pendingCommands;
+    private final long trackingId;
     private volatile long lastSeen;
 
-    AsyncRedisChannel(Channel nettyChannel, boolean established) {
+    AsyncRedisChannel(Channel nettyChannel, boolean established, long trackingId) {
         this.nettyChannel = nettyChannel;
-        this.channelInfo = new AtomicReference<>(new ChannelInfo(null, established));
+        this.trackingId = trackingId;
+        this.established = new AtomicBoolean(established);
+        this.pooled = new AtomicBoolean(false);
+        this.pendingCommands = new AtomicInteger(0);
         this.lastSeen = Instant.now().toEpochMilli();
     }
 
-    void complete(RedisReport response, Throwable error) {
-        boolean finish;
-        do {
-            ChannelInfo currentChannelInfo = channelInfo.get();
-            if (currentChannelInfo.currentCommand != null) {
-                if (response != null) {
-                    currentChannelInfo.currentCommand.getListenableFuture().complete(response);
-                } else if (error != null) {
-                    currentChannelInfo.currentCommand.getListenableFuture().completeExceptionally(error);
-                }
-            }
-            finish = channelInfo.compareAndSet(currentChannelInfo, new ChannelInfo(null, true));
-        } while (!finish);
+    void complete(AsyncRedisCommands commands) {
+        commands.complete();
+        commands.releaseAdmission(commands.getError());
+        pendingCommands.decrementAndGet();
         lastSeen = Instant.now().toEpochMilli();
     }
 
     void send(AsyncRedisCommands asyncRedisCommands) {
-        boolean finish;
-        do {
-            ChannelInfo currentChannelInfo = channelInfo.get();
-            if (!currentChannelInfo.established) {
-                asyncRedisCommands.getListenableFuture().completeExceptionally(
-                        new RuntimeException("The channel has been closed")
-                );
-                return;
-            }
-            if (currentChannelInfo.currentCommand != null) {
-                asyncRedisCommands.getListenableFuture().completeExceptionally(
-                        new RuntimeException("The handler has been taken with another request")
-                );
-                return;
+        if (!established.get()) {
+            RuntimeException cause = new RuntimeException("The channel has been closed");
+            asyncRedisCommands.fail(cause);
+            asyncRedisCommands.releaseAdmission(cause);
+            return;
+        }
+        pendingCommands.incrementAndGet();
+        nettyChannel.writeAndFlush(asyncRedisCommands).addListener(future -> {
+            if (!future.isSuccess()) {
+                pendingCommands.decrementAndGet();
+                asyncRedisCommands.fail(future.cause());
+                asyncRedisCommands.releaseAdmission(future.cause());
             }
-            finish = channelInfo.compareAndSet(currentChannelInfo, new ChannelInfo(asyncRedisCommands, true));
-        } while (!finish);
-        nettyChannel.writeAndFlush(NEW_COMMAND);
+        });
         lastSeen = Instant.now().toEpochMilli();
     }
 
-    boolean terminate(Throwable cause) {
-        boolean done;
-        do {
-            ChannelInfo currentChannelInfo = channelInfo.get();
-            if (currentChannelInfo.currentCommand != null) {
-                cause = cause == null ? new RuntimeException("The channel has been closed") : cause;
-                currentChannelInfo.currentCommand.getListenableFuture().completeExceptionally(cause);
-            }
-            if (!currentChannelInfo.established) {
-                return false;
-            }
-            done = channelInfo.compareAndSet(currentChannelInfo, new ChannelInfo(null, false));
-        } while (!done);
-        return true;
+    boolean terminate() {
+        return established.compareAndSet(true, false);
     }
 
     boolean close() {
-        boolean done = terminate(null);
+        boolean done = terminate();
         if (done) {
             nettyChannel.close();
         }
@@ -81,39 +63,31 @@ public class AsyncRedisChannel {
     }
 
     boolean isNotEstablished() {
-        return !channelInfo.get().established;
+        return !established.get();
     }
 
-    long getLastSeen() {
-        return this.lastSeen;
+    EventLoop getEventLoop() {
+        return nettyChannel.eventLoop();
     }
 
-    AsyncRedisCommand nextCommand() {
-        AsyncRedisCommands commands = channelInfo.get().currentCommand;
-        if (commands == null) {
-            return null;
-        }
-        return commands.getNextCommand();
+    long getTrackingId() {
+        return trackingId;
     }
 
-    Boolean isOnlyOneCommand() {
-        AsyncRedisCommands commands = channelInfo.get().currentCommand;
-        if (commands == null) {
-            return null;
-        }
-        return commands.isSingle();
+    long getLastSeen() {
+        return this.lastSeen;
     }
 
-    private static class ChannelInfo {
-        final AsyncRedisCommands currentCommand;
-        final boolean established;
+    int getPendingCommands() {
+        return pendingCommands.get();
+    }
 
-        public ChannelInfo(AsyncRedisCommands currentCommand, boolean established) {
-            this.currentCommand = currentCommand;
-            this.established = established;
-        }
+    boolean markPooled() {
+        return pooled.compareAndSet(false, true);
     }
 
-    private static final Object NEW_COMMAND = new Object();
+    void markTaken() {
+        pooled.set(false);
+    }
 
 }
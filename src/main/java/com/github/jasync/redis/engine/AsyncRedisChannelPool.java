@@ -1,8 +1,12 @@
 package com.github.jasync.redis.engine;
 
-import com.github.jasync.redis.RedisReport;
+import com.github.jasync.redis.RedisPushListener;
 import com.github.jasync.redis.utils.NettyChannelInitializer;
+import com.github.jasync.redis.utils.RedisConverter;
 import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.epoll.Epoll;
 import io.netty.channel.epoll.EpollEventLoopGroup;
@@ -10,173 +14,490 @@ import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.FastThreadLocalThread;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class AsyncRedisChannelPool {
 
     private final AtomicBoolean started;
+    private final AtomicBoolean connecting;
+    private final AtomicInteger handingOff;
     private final String host;
     private final int maxChannels, minChannels;
+    private final int maxPipelinedCommands;
+    private final int maxFlushCommands;
+    private final long maxFlushDelay;
+    private final AsyncRedisStatistics statistics;
+    private final AsyncRedisAdmission admission;
+    private final AsyncRedisMetrics metrics;
+    private final boolean jmx;
+    private final AtomicLong reconnects;
+    private final AsyncRedisNearCache nearCache;
+    private final AsyncRedisTracker tracker;
+    private final int protocolVersion;
+    private final RedisPushListener pushListener;
+    private final boolean readOnly;
     private final long idleTimeout;
+    private final long commandTimeout;
+    private final long acquireTimeout;
+    private final long minReconnectDelay, maxReconnectDelay;
     private final int port;
     private final int db;
     private final AtomicInteger channels;
-    private final ReadWriteLock cleanerLock;
     private final Bootstrap bootstrap;
     private final EventLoopGroup workerGroup;
-    private final ConcurrentLinkedDeque<AsyncRedisChannel> persistentChannels;
-    private final ScheduledExecutorService scheduler;
-    private final LinkedBlockingQueue<AsyncRedisChannel> reverseChannels;
+    private final boolean sharedWorkerGroup;
+    private final LoopChannels[] loops;
+    private final Map<EventLoop, LoopChannels> loopChannels;
+    private final Queue<CompletableFuture<AsyncRedisChannel>> waiters;
+    private volatile Throwable connectFailure;
 
-    AsyncRedisChannelPool(String host, int port, int db, int maxChannels, int minChannels, long idleTimeout, int consumers) {
+    AsyncRedisChannelPool(String host, int port, int db, int maxChannels, int minChannels, int maxPipelinedCommands,
+                          int maxFlushCommands, long maxFlushDelay, long idleTimeout, long commandTimeout, long acquireTimeout,
+                          long minReconnectDelay, long maxReconnectDelay, int consumers, EventLoopGroup workerGroup,
+                          AsyncRedisNearCache nearCache, AsyncRedisAdmission admission, AsyncRedisMetrics metrics,
+                          boolean jmx, int protocolVersion, RedisPushListener pushListener, boolean readOnly) {
         this.bootstrap = new Bootstrap();
         this.host = host;
         this.port = port;
         this.db = db;
         this.minChannels = minChannels;
         this.maxChannels = maxChannels;
+        this.maxPipelinedCommands = maxPipelinedCommands;
+        this.maxFlushCommands = maxFlushCommands;
+        this.maxFlushDelay = maxFlushDelay;
+        this.statistics = new AsyncRedisStatistics(this);
+        this.nearCache = nearCache;
+        this.admission = admission;
+        this.metrics = metrics;
+        this.jmx = jmx;
+        this.reconnects = new AtomicLong(0);
+        this.protocolVersion = protocolVersion;
+        this.pushListener = pushListener;
+        this.readOnly = readOnly;
+        this.tracker = nearCache == null ? null : new AsyncRedisTracker(this, nearCache);
         this.idleTimeout = idleTimeout;
+        this.commandTimeout = commandTimeout;
+        this.acquireTimeout = acquireTimeout;
+        this.minReconnectDelay = minReconnectDelay;
+        this.maxReconnectDelay = maxReconnectDelay;
         this.channels = new AtomicInteger(0);
-        this.persistentChannels = new ConcurrentLinkedDeque<>();
-        this.workerGroup = getLoopGroup(consumers);
-        this.reverseChannels = new LinkedBlockingQueue<>(maxChannels);
-        if (minChannels == maxChannels) {
-            this.scheduler = null;
-        } else {
-            this.scheduler = Executors.newSingleThreadScheduledExecutor();
+        this.sharedWorkerGroup = workerGroup != null;
+        this.workerGroup = sharedWorkerGroup ? workerGroup : createLoopGroup(consumers);
+        List<LoopChannels> loops = new ArrayList<>();
+        for (EventExecutor executor : this.workerGroup) {
+            loops.add(new LoopChannels(loops.size(), (EventLoop) executor));
+        }
+        this.loops = loops.toArray(new LoopChannels[0]);
+        this.loopChannels = new IdentityHashMap<>();
+        for (LoopChannels loop : this.loops) {
+            loopChannels.put(loop.eventLoop, loop);
         }
-        this.cleanerLock = new ReentrantReadWriteLock();
+        this.waiters = new ConcurrentLinkedQueue<>();
         this.started = new AtomicBoolean(false);
+        this.connecting = new AtomicBoolean(false);
+        this.handingOff = new AtomicInteger(0);
+    }
+
+    String getHost() {
+        return host;
+    }
+
+    int getPort() {
+        return port;
     }
 
     int getDb() {
         return db;
     }
 
-    AsyncRedisChannel nextChannel() throws InterruptedException {
-        AsyncRedisChannel channel;
-        do {
-            if (!started.get()) {
-                throw new IllegalStateException("The channel-pool has been stopped");
+    int getProtocolVersion() {
+        return protocolVersion;
+    }
+
+    boolean isReadOnly() {
+        return readOnly;
+    }
+
+    void onPush(List<Object> message) {
+        if (pushListener == null) {
+            RedisConverter.release(message);
+            return;
+        }
+        try {
+            pushListener.onPush(message);
+        } catch (Throwable ex) {
+            LOGGER.warn("The push listener has failed", ex);
+        }
+    }
+
+    long getTrackingId() {
+        return tracker == null ? -1 : tracker.getTrackingId();
+    }
+
+    AsyncRedisNearCache getNearCache() {
+        return nearCache;
+    }
+
+    AsyncRedisAdmission getAdmission() {
+        return admission;
+    }
+
+    AsyncRedisMetrics getMetrics() {
+        return metrics;
+    }
+
+    int getChannels() {
+        return channels.get();
+    }
+
+    int getIdleChannels() {
+        int idle = 0;
+        for (LoopChannels loop : loops) {
+            for (AsyncRedisChannel channel : loop.channels) {
+                if (channel.getPendingCommands() == 0 && !channel.isNotEstablished()) {
+                    idle++;
+                }
             }
-            channel = persistentChannels.pollFirst();
-            if (channel == null) {
-                channel = tryCreateChannel();
+        }
+        return idle;
+    }
+
+    long getReconnects() {
+        return reconnects.get();
+    }
+
+    AsyncRedisStatistics getStatistics() {
+        return statistics;
+    }
+
+    AsyncRedisFlusher createFlusher(ChannelHandlerContext ctx) {
+        if (maxFlushCommands < 2) {
+            return null;
+        }
+        return new AsyncRedisFlusher(ctx, maxFlushCommands, TimeUnit.MICROSECONDS.toNanos(maxFlushDelay), statistics);
+    }
+
+    AsyncRedisChannel tryAcquireChannel() {
+        if (!waiters.isEmpty()) {
+            return null;
+        }
+        return pollChannel(getHomeLoop());
+    }
+
+    CompletableFuture<AsyncRedisChannel> acquireChannel() {
+        if (!started.get()) {
+            throw new IllegalStateException("The channel-pool has been stopped");
+        }
+        AsyncRedisChannel channel = tryAcquireChannel();
+        if (channel != null) {
+            return CompletableFuture.completedFuture(channel);
+        }
+        CompletableFuture<AsyncRedisChannel> waiter = new CompletableFuture<>();
+        ScheduledFuture<?> timeout = workerGroup.schedule(() -> {
+            TimeoutException error = new TimeoutException("The channel-pool has no free channels");
+            Throwable cause = connectFailure;
+            if (cause != null) {
+                error.initCause(cause);
             }
-        } while (channel == null);
-        return channel;
+            waiter.completeExceptionally(error);
+        }, acquireTimeout, TimeUnit.MILLISECONDS);
+        waiter.whenComplete((acquired, error) -> timeout.cancel(false));
+        waiters.offer(waiter);
+        handOff();
+        return waiter;
+    }
+
+    void updateChannelState(Channel nettyChannel, AsyncRedisChannel channel) {
+        CompletableFuture<AsyncRedisChannel> ready = nettyChannel.attr(CHANNEL_READY).get();
+        if (ready == null) {
+            return;
+        }
+        if (channel == null) {
+            ready.completeExceptionally(new RuntimeException("The channel has not been initialized"));
+        } else {
+            ready.complete(channel);
+        }
     }
 
-    void updateChannelState(AsyncRedisChannel channel) {
-        reverseChannels.add(channel);
+    void releaseChannel(AsyncRedisChannel channel, AsyncRedisCommands commands) {
+        channel.complete(commands);
+        returnChannel(channel);
     }
 
-    void releaseChannel(AsyncRedisChannel channel, RedisReport response, Throwable cause) {
-        channel.complete(response, cause);
+    void returnChannel(AsyncRedisChannel channel) {
         if (!started.get()) {
             forceClose(channel);
             return;
         }
-        persistentChannels.addFirst(channel);
+        if (isStale(channel)) {
+            retire(channel);
+            return;
+        }
+        if (channel.getPendingCommands() < maxPipelinedCommands && channel.markPooled()) {
+            loopChannels.get(channel.getEventLoop()).channels.addFirst(channel);
+            if (!waiters.isEmpty()) {
+                handOff();
+            }
+        }
     }
 
-    void terminateChannel(AsyncRedisChannel channel, Throwable cause) {
-        boolean done = channel.terminate(cause);
+    void terminateChannel(AsyncRedisChannel channel) {
+        boolean done = channel.terminate();
         if (done) {
             channels.decrementAndGet();
+            if (started.get()) {
+                reconnects.incrementAndGet();
+            }
+            if (started.get() && channels.get() < minChannels) {
+                openChannel(loopChannels.get(channel.getEventLoop()));
+            }
+            handOff();
         }
     }
 
-    void start(int commandTimeout) {
+    CompletableFuture<Void> start() {
         if (!started.compareAndSet(false, true)) {
-            return;
+            return CompletableFuture.completedFuture(null);
         }
-        initBootstrap(commandTimeout);
-        if (scheduler != null) {
-            this.scheduler.scheduleAtFixedRate(this::clean, idleTimeout / 2000, idleTimeout / 2000, TimeUnit.SECONDS);
+        initBootstrap();
+        if (jmx) {
+            statistics.register();
+        }
+        if (minChannels != maxChannels) {
+            for (LoopChannels loop : loops) {
+                loop.eviction = loop.eventLoop.scheduleAtFixedRate(() -> evict(loop), idleTimeout / 2, idleTimeout / 2, TimeUnit.MILLISECONDS);
+            }
         }
+        CompletableFuture<Void> tracking = tracker == null ? CompletableFuture.completedFuture(null) : tracker.start(bootstrap);
+        return tracking.thenCompose(tracked -> {
+            CompletableFuture<?>[] warmUp = new CompletableFuture<?>[minChannels];
+            for (int i = 0; i < minChannels; i++) {
+                warmUp[i] = openChannel(loops[i % loops.length]);
+            }
+            return CompletableFuture.allOf(warmUp);
+        });
     }
 
     void stop() {
         if (!started.compareAndSet(true, false)) {
             return;
         }
-        scheduler.shutdownNow();
-        AsyncRedisChannel asyncRedisChannel = persistentChannels.pollLast();
-        while (asyncRedisChannel != null) {
-            forceClose(asyncRedisChannel);
-            asyncRedisChannel = persistentChannels.pollLast();
+        for (LoopChannels loop : loops) {
+            if (loop.eviction != null) {
+                loop.eviction.cancel(false);
+            }
+        }
+        if (tracker != null) {
+            tracker.stop();
+        }
+        if (jmx) {
+            statistics.unregister();
+        }
+        for (LoopChannels loop : loops) {
+            AsyncRedisChannel asyncRedisChannel = loop.channels.pollLast();
+            while (asyncRedisChannel != null) {
+                forceClose(asyncRedisChannel);
+                asyncRedisChannel = loop.channels.pollLast();
+            }
+        }
+        CompletableFuture<AsyncRedisChannel> waiter = waiters.poll();
+        while (waiter != null) {
+            waiter.completeExceptionally(new IllegalStateException("The channel-pool has been stopped"));
+            waiter = waiters.poll();
+        }
+        if (!sharedWorkerGroup) {
+            workerGroup.shutdownGracefully();
         }
-        workerGroup.shutdownGracefully();
     }
 
-    private AsyncRedisChannel tryCreateChannel() throws InterruptedException {
-        if (channels.get() >= maxChannels) {
-            return null;
+    private LoopChannels getHomeLoop() {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof FastThreadLocalThread) {
+            for (LoopChannels loop : loops) {
+                if (loop.eventLoop.inEventLoop(thread)) {
+                    return loop;
+                }
+            }
         }
-        AsyncRedisChannel channel;
-        cleanerLock.readLock().lock();
-        try {
-            channel = persistentChannels.pollFirst();
-            if (channel != null) {
-                return channel;
-            }
-            boolean increased;
-            do {
-                int current = channels.get();
-                if (current >= maxChannels) {
-                    return null;
+        return loops[(int) (thread.getId() % loops.length)];
+    }
+
+    private AsyncRedisChannel pollChannel(LoopChannels home) {
+        AsyncRedisChannel channel = pollChannel(home, true);
+        for (int i = 1; channel == null && i < loops.length; i++) {
+            channel = pollChannel(loops[(home.index + i) % loops.length], false);
+        }
+        return channel;
+    }
+
+    private AsyncRedisChannel pollChannel(LoopChannels loop, boolean owner) {
+        AsyncRedisChannel channel = owner ? loop.channels.pollFirst() : loop.channels.pollLast();
+        while (channel != null) {
+            channel.markTaken();
+            if (!channel.isNotEstablished()) {
+                if (!isStale(channel)) {
+                    return channel;
                 }
-                increased = channels.compareAndSet(current, current + 1);
-            } while (!increased);
-        } finally {
-            cleanerLock.readLock().unlock();
+                retire(channel);
+            }
+            channel = owner ? loop.channels.pollFirst() : loop.channels.pollLast();
         }
-        return makeChannel();
+        return null;
     }
 
-    private AsyncRedisChannel makeChannel() throws InterruptedException {
-        AsyncRedisChannel channel;
+    private void handOff() {
+        if (handingOff.getAndIncrement() != 0) {
+            return;
+        }
+        LoopChannels home = getHomeLoop();
+        int missed = 1;
         do {
-            try {
-                bootstrap.connect(host, port);
-            } catch (Exception ex) {
-                ex.printStackTrace();
-                Thread.sleep(1000);
-                channel = null;
-                continue;
-            }
-            channel = reverseChannels.take();
-            if (channel.isNotEstablished()) {
-                new RuntimeException("The channel has not been initialized").printStackTrace();
-                Thread.sleep(1000);
-                channel = null;
-            }
-        } while (channel == null);
-        return channel;
+            while (!waiters.isEmpty()) {
+                AsyncRedisChannel channel = pollChannel(home);
+                if (channel == null) {
+                    requestChannel(home);
+                    break;
+                }
+                CompletableFuture<AsyncRedisChannel> waiter = waiters.poll();
+                if (waiter == null || !waiter.complete(channel)) {
+                    if (channel.markPooled()) {
+                        loopChannels.get(channel.getEventLoop()).channels.addFirst(channel);
+                    }
+                }
+            }
+            missed = handingOff.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void requestChannel(LoopChannels home) {
+        if (!started.get() || channels.get() >= maxChannels) {
+            return;
+        }
+        if (connecting.compareAndSet(false, true)) {
+            openChannel(home).whenComplete((channel, error) -> connecting.set(false));
+        }
+    }
+
+    private CompletableFuture<AsyncRedisChannel> openChannel(LoopChannels loop) {
+        CompletableFuture<AsyncRedisChannel> opened = new CompletableFuture<>();
+        openChannel(loop, opened, 0);
+        return opened;
+    }
+
+    private void openChannel(LoopChannels loop, CompletableFuture<AsyncRedisChannel> opened, int attempt) {
+        if (!started.get()) {
+            opened.completeExceptionally(new IllegalStateException("The channel-pool has been stopped"));
+            return;
+        }
+        if (!reserveChannel()) {
+            opened.complete(null);
+            return;
+        }
+        connect(loop).whenComplete((channel, error) -> {
+            if (error == null) {
+                connectFailure = null;
+                opened.complete(channel);
+                returnChannel(channel);
+                return;
+            }
+            channels.decrementAndGet();
+            connectFailure = error;
+            if (!started.get() || (channels.get() >= minChannels && waiters.isEmpty())) {
+                opened.completeExceptionally(error);
+                return;
+            }
+            reconnects.incrementAndGet();
+            loop.eventLoop.schedule(() -> openChannel(loop, opened, attempt + 1), getReconnectDelay(attempt), TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private boolean reserveChannel() {
+        int current;
+        do {
+            current = channels.get();
+            if (current >= maxChannels) {
+                return false;
+            }
+        } while (!channels.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private boolean releaseReservation() {
+        int current;
+        do {
+            current = channels.get();
+            if (current <= minChannels) {
+                return false;
+            }
+        } while (!channels.compareAndSet(current, current - 1));
+        return true;
+    }
+
+    private CompletableFuture<AsyncRedisChannel> connect(LoopChannels loop) {
+        CompletableFuture<AsyncRedisChannel> ready = new CompletableFuture<>();
+        bootstrap.clone(loop.eventLoop).attr(CHANNEL_READY, ready).connect(host, port).addListener(future -> {
+            if (!future.isSuccess()) {
+                ready.completeExceptionally(future.cause());
+            }
+        });
+        return ready;
+    }
+
+    long getCommandTimeout() {
+        return commandTimeout;
+    }
+
+    long getReconnectDelay(int attempt) {
+        return getReconnectDelay(minReconnectDelay, maxReconnectDelay, attempt);
+    }
+
+    static long getReconnectDelay(long minReconnectDelay, long maxReconnectDelay, int attempt) {
+        long delay = Math.min(maxReconnectDelay, minReconnectDelay << Math.min(attempt, 20));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
     }
 
-    private void clean() {
-        cleanerLock.writeLock().lock();
-        AsyncRedisChannel asyncRedisChannel = persistentChannels.pollLast();
+    private void evict(LoopChannels loop) {
+        AsyncRedisChannel asyncRedisChannel = loop.channels.pollLast();
         while (asyncRedisChannel != null) {
-            if (isExpired(asyncRedisChannel) && channels.get() > minChannels) {
-                forceClose(asyncRedisChannel);
-                cleanerLock.writeLock().unlock();
-            } else {
-                persistentChannels.addLast(asyncRedisChannel);
-                break;
+            asyncRedisChannel.markTaken();
+            if (!asyncRedisChannel.isNotEstablished()) {
+                if (!isExpired(asyncRedisChannel) || !releaseReservation()) {
+                    if (asyncRedisChannel.markPooled()) {
+                        loop.channels.addLast(asyncRedisChannel);
+                    }
+                    return;
+                }
+                if (!asyncRedisChannel.close()) {
+                    channels.incrementAndGet();
+                }
             }
-            cleanerLock.writeLock().lock();
-            asyncRedisChannel = persistentChannels.pollLast();
+            asyncRedisChannel = loop.channels.pollLast();
+        }
+    }
+
+    private boolean isStale(AsyncRedisChannel channel) {
+        return tracker != null && channel.getTrackingId() != tracker.getTrackingId();
+    }
+
+    private void retire(AsyncRedisChannel channel) {
+        if (channel.getPendingCommands() == 0) {
+            forceClose(channel);
         }
-        cleanerLock.writeLock().unlock();
     }
 
     private void forceClose(AsyncRedisChannel channel) {
@@ -187,19 +508,40 @@ public class AsyncRedisChannelPool {
     }
 
     private boolean isExpired(AsyncRedisChannel asyncRedisChannel) {
+        if (asyncRedisChannel.getPendingCommands() > 0) {
+            return false;
+        }
         return (Instant.now().toEpochMilli() - asyncRedisChannel.getLastSeen()) > idleTimeout;
     }
 
-    private void initBootstrap(int commandTimeout) {
-        bootstrap.group(workerGroup).channel(getSocketChannel()).handler(new NettyChannelInitializer(commandTimeout, this));
+    private void initBootstrap() {
+        bootstrap.group(workerGroup).channel(getSocketChannel()).handler(new NettyChannelInitializer(this));
     }
 
-    private static EventLoopGroup getLoopGroup(int consumers) {
+    static EventLoopGroup createLoopGroup(int consumers) {
         return Epoll.isAvailable() ? new EpollEventLoopGroup(consumers) : new NioEventLoopGroup(consumers);
     }
 
-    private static Class<? extends SocketChannel> getSocketChannel() {
+    static Class<? extends SocketChannel> getSocketChannel() {
         return Epoll.isAvailable() ? EpollSocketChannel.class : NioSocketChannel.class;
     }
 
+    private static final class LoopChannels {
+
+        private final int index;
+        private final EventLoop eventLoop;
+        private final ConcurrentLinkedDeque<AsyncRedisChannel> channels;
+        private volatile ScheduledFuture<?> eviction;
+
+        private LoopChannels(int index, EventLoop eventLoop) {
+            this.index = index;
+            this.eventLoop = eventLoop;
+            this.channels = new ConcurrentLinkedDeque<>();
+        }
+
+    }
+
+    private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(AsyncRedisChannelPool.class);
+    private static final AttributeKey<CompletableFuture<AsyncRedisChannel>> CHANNEL_READY = AttributeKey.valueOf("channelReady");
+
 }
@@ -2,100 +2,241 @@ package com.github.jasync.redis.engine;
 
 import com.github.jasync.redis.RedisReport;
 import com.github.jasync.redis.AsyncRedisClient;
+import com.github.jasync.redis.JavaRedisDeserializer;
+import com.github.jasync.redis.RedisStreamSubscriber;
 import com.github.jasync.redis.RedisQuery;
+import com.github.jasync.redis.RedisScan;
+import com.github.jasync.redis.RedisStatistics;
 import com.github.jasync.redis.utils.RedisConverter;
 
 import java.util.LinkedList;
 import java.util.Queue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
 
 public class AsyncRedisClientImpl implements AsyncRedisClient {
 
     private final AtomicBoolean started;
-    private final ExecutorService executorService;
     private final AsyncRedisChannelPool connectionPool;
-    private final BlockingQueue<AsyncRedisCommands> messageQueue;
+    private final AsyncRedisScripts scripts;
+    private final AsyncRedisLatency latency;
 
     public CompletableFuture<RedisReport> runCommand(String command, String key, Object... args) {
-        Queue<AsyncRedisCommand> commands = new LinkedList<>();
-        commands.add(new AsyncRedisCommand(RedisConverter.createRequest(command, key, null, args), null));
-        return runQuery(commands, true);
+        AsyncRedisNearCache nearCache = connectionPool.getNearCache();
+        if (nearCache != null && key != null) {
+            if (GET.equalsIgnoreCase(command) && (args == null || args.length == 0)) {
+                return runCachedCommand(nearCache, key);
+            }
+            nearCache.invalidate(key);
+        }
+        return runQuery(createCommands(command, key, null, args), true);
     }
 
     public CompletableFuture<RedisReport> runScript(String script, Object... args) {
         Queue<AsyncRedisCommand> commands = new LinkedList<>();
-        commands.add(new AsyncRedisCommand(RedisConverter.createRequest(script, null, null, args), null));
+        commands.add(scripts.createCommand(script, null, null, args));
         return runQuery(commands, true);
     }
 
+    public CompletableFuture<Void> runLongCommand(String command, String key, LongConsumer consumer, Object... args) {
+        return runLongQuery(createCommands(command, key, null, args), consumer);
+    }
+
+    public CompletableFuture<long[]> runLongArrayCommand(String command, String key, Object... args) {
+        return runLongArrayQuery(createCommands(command, key, null, args));
+    }
+
+    public void runStreamCommand(String command, String key, JavaRedisDeserializer deserializer,
+                                 RedisStreamSubscriber subscriber, Object... args) {
+        runStreamQuery(createCommands(command, key, deserializer, args), subscriber);
+    }
+
     public RedisQuery buildQuery() {
         return new AsyncRedisRequest(this);
     }
 
+    public RedisScan buildScan(String command, String key) {
+        return new AsyncRedisScan(commands -> runQuery(commands, true), command, key);
+    }
+
+    public RedisStatistics getStatistics() {
+        return connectionPool.getStatistics();
+    }
+
     public void shutdown() {
         if (!started.compareAndSet(true, false)) {
             return;
         }
-        executorService.shutdownNow();
-        messageQueue.clear();
         connectionPool.stop();
     }
 
     CompletableFuture<RedisReport> runQuery(Queue<AsyncRedisCommand> commands, boolean isSingle) {
+        return runQuery(commands, isSingle, -1);
+    }
+
+    CompletableFuture<RedisReport> runQuery(Queue<AsyncRedisCommand> commands, boolean isSingle, long timeout) {
         if (!started.get()) {
             throw new IllegalStateException("The client has been stopped");
         }
         CompletableFuture<RedisReport> completableFuture = new CompletableFuture<>();
-        putCommand(new AsyncRedisCommands(commands, isSingle, completableFuture));
-        return completableFuture;
+        AsyncRedisCommands asyncRedisCommands = new AsyncRedisCommands(commands, isSingle, completableFuture);
+        asyncRedisCommands.setTimeout(timeout);
+        admit(asyncRedisCommands);
+        return AsyncRedisDeadlines.schedule(completableFuture, getTimeout(timeout));
     }
 
-    AsyncRedisClientImpl(AsyncRedisChannelPool connectionPool, BlockingQueue<AsyncRedisCommands> messageQueue, int consumers) {
-        this.started = new AtomicBoolean(false);
-        this.executorService = Executors.newFixedThreadPool(consumers);
-        this.connectionPool = connectionPool;
-        this.messageQueue = messageQueue;
+    CompletableFuture<Void> runLongQuery(Queue<AsyncRedisCommand> commands, LongConsumer consumer) {
+        return runLongQuery(commands, consumer, -1);
     }
 
-    void start(int consumers) {
-        if (!started.compareAndSet(false, true)) {
-            return;
+    CompletableFuture<Void> runLongQuery(Queue<AsyncRedisCommand> commands, LongConsumer consumer, long timeout) {
+        if (!started.get()) {
+            throw new IllegalStateException("The client has been stopped");
         }
-        for (int i = 0; i < consumers; i++) {
-            executorService.submit(this::consume);
+        CompletableFuture<Void> completableFuture = new CompletableFuture<>();
+        AsyncRedisCommands asyncRedisCommands = new AsyncRedisLongCommands(commands, consumer, completableFuture);
+        asyncRedisCommands.setTimeout(timeout);
+        admit(asyncRedisCommands);
+        return AsyncRedisDeadlines.schedule(completableFuture, getTimeout(timeout));
+    }
+
+    CompletableFuture<long[]> runLongArrayQuery(Queue<AsyncRedisCommand> commands) {
+        return runLongArrayQuery(commands, -1);
+    }
+
+    CompletableFuture<long[]> runLongArrayQuery(Queue<AsyncRedisCommand> commands, long timeout) {
+        if (!started.get()) {
+            throw new IllegalStateException("The client has been stopped");
         }
+        CompletableFuture<long[]> completableFuture = new CompletableFuture<>();
+        AsyncRedisCommands asyncRedisCommands = new AsyncRedisLongArrayCommands(commands, completableFuture);
+        asyncRedisCommands.setTimeout(timeout);
+        admit(asyncRedisCommands);
+        return AsyncRedisDeadlines.schedule(completableFuture, getTimeout(timeout));
     }
 
-    private void putCommand(AsyncRedisCommands command) {
-        boolean offered = messageQueue.offer(command);
-        if (!offered) {
-            throw new IllegalStateException("The queue is full");
+    void runStreamQuery(Queue<AsyncRedisCommand> commands, RedisStreamSubscriber subscriber) {
+        if (!started.get()) {
+            throw new IllegalStateException("The client has been stopped");
         }
+        AsyncRedisStreamCommands streamCommands = new AsyncRedisStreamCommands(commands, subscriber);
+        subscriber.onSubscribe(streamCommands);
+        run(streamCommands);
+    }
+
+    AsyncRedisClientImpl(AsyncRedisChannelPool connectionPool) {
+        this.started = new AtomicBoolean(false);
+        this.connectionPool = connectionPool;
+        this.scripts = new AsyncRedisScripts();
+        this.latency = new AsyncRedisLatency();
     }
 
-    private void consume() {
-        while (!Thread.interrupted()) {
-            AsyncRedisChannel channel;
-            AsyncRedisCommands commands;
-            try {
-                commands = messageQueue.take();
-                channel = connectionPool.nextChannel();
-            } catch (InterruptedException iex) {
+    AsyncRedisScripts getScripts() {
+        return scripts;
+    }
+
+    long getTimeout(long timeout) {
+        return timeout < 0 ? connectionPool.getCommandTimeout() : timeout;
+    }
+
+    AsyncRedisChannelPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    AsyncRedisLatency getLatency() {
+        return latency;
+    }
+
+    CompletableFuture<Void> start() {
+        started.compareAndSet(false, true);
+        return connectionPool.start();
+    }
+
+    private CompletableFuture<RedisReport> runCachedCommand(AsyncRedisNearCache nearCache, String key) {
+        if (!started.get()) {
+            throw new IllegalStateException("The client has been stopped");
+        }
+        Object cached = nearCache.get(key);
+        if (cached != AsyncRedisNearCache.MISS) {
+            return CompletableFuture.completedFuture(new AsyncRedisResponse(cached));
+        }
+        Object load = nearCache.beginLoad(key);
+        CompletableFuture<RedisReport> future;
+        try {
+            future = runQuery(createCommands(GET, key, null), true);
+        } catch (RuntimeException ex) {
+            if (load != null) {
+                nearCache.cancelLoad(key, load);
+            }
+            throw ex;
+        }
+        if (load != null) {
+            future.whenComplete((report, error) -> {
+                if (error == null) {
+                    nearCache.completeLoad(key, load, report.getType());
+                } else {
+                    nearCache.cancelLoad(key, load);
+                }
+            });
+        }
+        return future;
+    }
+
+    private void admit(AsyncRedisCommands asyncRedisCommands) {
+        AsyncRedisAdmission admission = connectionPool.getAdmission();
+        if (connectionPool.getMetrics() != null) {
+            asyncRedisCommands.markSubmitted(System.nanoTime());
+        }
+        admission.acquire().whenComplete((admitted, error) -> {
+            if (error != null) {
+                asyncRedisCommands.fail(error);
                 return;
-            } catch (Exception ex) {
-                ex.printStackTrace();
-                continue;
             }
-            try {
-                channel.send(commands);
-            } catch (RuntimeException ex) {
-                ex.printStackTrace();
+            asyncRedisCommands.markAdmitted(admission, System.nanoTime());
+            run(asyncRedisCommands);
+        });
+    }
+
+    private void run(AsyncRedisCommands asyncRedisCommands) {
+        AsyncRedisChannel channel = connectionPool.tryAcquireChannel();
+        if (channel != null) {
+            send(channel, asyncRedisCommands);
+            return;
+        }
+        CompletableFuture<AsyncRedisChannel> acquired;
+        try {
+            acquired = connectionPool.acquireChannel();
+        } catch (RuntimeException ex) {
+            asyncRedisCommands.fail(ex);
+            asyncRedisCommands.releaseAdmission(ex);
+            return;
+        }
+        acquired.whenComplete((acquiredChannel, error) -> {
+            if (error != null) {
+                asyncRedisCommands.fail(error);
+                asyncRedisCommands.releaseAdmission(error);
+            } else {
+                send(acquiredChannel, asyncRedisCommands);
             }
+        });
+    }
+
+    private void send(AsyncRedisChannel channel, AsyncRedisCommands commands) {
+        if (!commands.isDone()) {
+            channel.send(commands);
+        } else {
+            commands.releaseAdmission(null);
         }
+        connectionPool.returnChannel(channel);
     }
 
+    static Queue<AsyncRedisCommand> createCommands(String command, String key, JavaRedisDeserializer deserializer, Object... args) {
+        Queue<AsyncRedisCommand> commands = new LinkedList<>();
+        commands.add(new AsyncRedisCommand(RedisConverter.createRequest(command, key, null, args), deserializer));
+        return commands;
+    }
+
+    private static final String GET = "get";
+
 }
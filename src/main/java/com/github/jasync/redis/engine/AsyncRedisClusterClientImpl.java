@@ -0,0 +1,557 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.AsyncRedisClient;
+import com.github.jasync.redis.JavaRedisDeserializer;
+import com.github.jasync.redis.RedisQuery;
+import com.github.jasync.redis.RedisReadFrom;
+import com.github.jasync.redis.RedisReport;
+import com.github.jasync.redis.RedisScan;
+import com.github.jasync.redis.RedisStatistics;
+import com.github.jasync.redis.RedisStreamSubscriber;
+import com.github.jasync.redis.RedisStreamSubscription;
+import com.github.jasync.redis.utils.RedisClusterSlot;
+import com.github.jasync.redis.utils.RedisConverter;
+import com.github.jasync.redis.utils.RedisRequest;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.CharsetUtil;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.LongConsumer;
+
+public class AsyncRedisClusterClientImpl implements AsyncRedisClient {
+
+    private final AtomicBoolean started;
+    private final AtomicBoolean refreshing;
+    private final AtomicLong refreshFailures;
+    private final List<String> seeds;
+    private final BiFunction<String, Integer, AsyncRedisClientImpl> nodeFactory;
+    private final BiFunction<String, Integer, AsyncRedisClientImpl> replicaFactory;
+    private final RedisReadFrom readFrom;
+    private final ConcurrentHashMap<String, AsyncRedisClientImpl> nodes;
+    private final EventLoopGroup workerGroup;
+    private final int maxRedirects;
+    private final long commandTimeout;
+    private volatile AsyncRedisClientImpl[] slots;
+    private volatile AsyncRedisReadRouter[] readers;
+
+    AsyncRedisClusterClientImpl(List<String> seeds, BiFunction<String, Integer, AsyncRedisClientImpl> nodeFactory,
+                                BiFunction<String, Integer, AsyncRedisClientImpl> replicaFactory, RedisReadFrom readFrom,
+                                EventLoopGroup workerGroup, int maxRedirects, long commandTimeout) {
+        this.started = new AtomicBoolean(false);
+        this.refreshing = new AtomicBoolean(false);
+        this.refreshFailures = new AtomicLong(0);
+        this.seeds = new ArrayList<>(seeds);
+        this.nodeFactory = nodeFactory;
+        this.replicaFactory = replicaFactory;
+        this.readFrom = readFrom;
+        this.nodes = new ConcurrentHashMap<>();
+        this.workerGroup = workerGroup;
+        this.maxRedirects = maxRedirects;
+        this.commandTimeout = commandTimeout;
+        this.slots = new AsyncRedisClientImpl[RedisClusterSlot.SLOTS];
+    }
+
+    public CompletableFuture<RedisReport> runCommand(String command, String key, Object... args) {
+        AsyncRedisScatter scatter = AsyncRedisScatter.split(command, key, args, AsyncRedisClusterClientImpl::getSlot);
+        if (scatter != null) {
+            return scatter.gather(part -> route(part.getPartition(), command, part.createCommands(),
+                    (node, commands) -> node.runQuery(commands, true)), commandTimeout);
+        }
+        return route(getSlot(key), command, AsyncRedisClientImpl.createCommands(command, key, null, args),
+                (node, commands) -> node.runQuery(commands, true));
+    }
+
+    public CompletableFuture<RedisReport> runScript(String script, Object... args) {
+        AsyncRedisClientImpl node = getNode(getScriptSlot(args));
+        Queue<AsyncRedisCommand> commands = new LinkedList<>();
+        commands.add(node.getScripts().createCommand(script, null, null, args));
+        return execute(node, commands, (target, retry) -> target.runQuery(retry, true));
+    }
+
+    public CompletableFuture<Void> runLongCommand(String command, String key, LongConsumer consumer, Object... args) {
+        return route(getSlot(key), command, AsyncRedisClientImpl.createCommands(command, key, null, args),
+                (node, commands) -> node.runLongQuery(commands, consumer));
+    }
+
+    public CompletableFuture<long[]> runLongArrayCommand(String command, String key, Object... args) {
+        return route(getSlot(key), command, AsyncRedisClientImpl.createCommands(command, key, null, args),
+                AsyncRedisClientImpl::runLongArrayQuery);
+    }
+
+    public void runStreamCommand(String command, String key, JavaRedisDeserializer deserializer,
+                                 RedisStreamSubscriber subscriber, Object... args) {
+        Queue<AsyncRedisCommand> commands = AsyncRedisClientImpl.createCommands(command, key, deserializer, args);
+        new ClusterStreamSubscriber(subscriber, new ArrayList<>(commands)).subscribe(getReadNode(getSlot(key), command), commands);
+    }
+
+    public RedisQuery buildQuery() {
+        return new AsyncRedisClusterRequest(this);
+    }
+
+    public RedisScan buildScan(String command, String key) {
+        if (key == null) {
+            return new AsyncRedisNodesScan(getMasters(), command);
+        }
+        AsyncRedisClientImpl node = getReadNode(getSlot(key), command);
+        return new AsyncRedisScan(commands -> execute(node, commands, (target, retry) -> target.runQuery(retry, true)),
+                command, key);
+    }
+
+    public RedisStatistics getStatistics() {
+        return new AsyncRedisCompositeStatistics(nodes.values(), refreshFailures);
+    }
+
+    public void shutdown() {
+        if (!started.compareAndSet(true, false)) {
+            return;
+        }
+        for (AsyncRedisClientImpl node : nodes.values()) {
+            node.shutdown();
+        }
+        nodes.clear();
+        workerGroup.shutdownGracefully();
+    }
+
+    CompletableFuture<Void> start() {
+        started.compareAndSet(false, true);
+        CompletableFuture<Void> ready = new CompletableFuture<>();
+        discover(0, ready, null);
+        return ready;
+    }
+
+    <T> CompletableFuture<T> execute(AsyncRedisClientImpl node, Queue<AsyncRedisCommand> commands,
+                                     BiFunction<AsyncRedisClientImpl, Queue<AsyncRedisCommand>, CompletableFuture<T>> invocation) {
+        return execute(node, commands, -1, invocation);
+    }
+
+    <T> CompletableFuture<T> execute(AsyncRedisClientImpl node, Queue<AsyncRedisCommand> commands, long timeout,
+                                     BiFunction<AsyncRedisClientImpl, Queue<AsyncRedisCommand>, CompletableFuture<T>> invocation) {
+        List<AsyncRedisCommand> templates = new ArrayList<>(commands);
+        CompletableFuture<T> future = invocation.apply(node, commands);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        execute(node, future, templates, invocation, result, 0);
+        return AsyncRedisDeadlines.schedule(result, timeout < 0 ? commandTimeout : timeout);
+    }
+
+    AsyncRedisClientImpl getNode(int slot) {
+        if (slot >= 0) {
+            AsyncRedisClientImpl node = slots[slot];
+            if (node != null) {
+                return node;
+            }
+        }
+        AsyncRedisClientImpl node = slots[ThreadLocalRandom.current().nextInt(RedisClusterSlot.SLOTS)];
+        if (node != null) {
+            return node;
+        }
+        Iterator<AsyncRedisClientImpl> iterator = nodes.values().iterator();
+        if (iterator.hasNext()) {
+            return iterator.next();
+        }
+        return getNode(seeds.get(0));
+    }
+
+    List<AsyncRedisClientImpl> getMasters() {
+        Set<AsyncRedisClientImpl> masters = new LinkedHashSet<>();
+        for (AsyncRedisClientImpl node : slots) {
+            if (node != null) {
+                masters.add(node);
+            }
+        }
+        return new ArrayList<>(masters);
+    }
+
+    static int getSlot(Object key) {
+        if (key == null) {
+            return -1;
+        }
+        if (key instanceof byte[]) {
+            return RedisClusterSlot.getSlot((byte[]) key);
+        }
+        return RedisClusterSlot.getSlot(String.valueOf(key));
+    }
+
+    static int getScriptSlot(Object... args) {
+        if (args == null || args.length < 2) {
+            return -1;
+        }
+        int keys;
+        try {
+            keys = Integer.parseInt(String.valueOf(args[0]));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+        return keys < 1 ? -1 : getSlot(args[1]);
+    }
+
+    private <T> CompletableFuture<T> route(int slot, String command, Queue<AsyncRedisCommand> commands,
+                                           BiFunction<AsyncRedisClientImpl, Queue<AsyncRedisCommand>, CompletableFuture<T>> invocation) {
+        AsyncRedisReadRouter router = getReader(slot, command);
+        if (router == null) {
+            return execute(getNode(slot), commands, invocation);
+        }
+        AsyncRedisClientImpl node = router.select();
+        return router.track(node, execute(node, commands, invocation));
+    }
+
+    private AsyncRedisClientImpl getReadNode(int slot, String command) {
+        AsyncRedisReadRouter router = getReader(slot, command);
+        return router == null ? getNode(slot) : router.select();
+    }
+
+    private AsyncRedisReadRouter getReader(int slot, String command) {
+        AsyncRedisReadRouter[] routers = readers;
+        if (routers == null || slot < 0 || !AsyncRedisReadRouter.isReadOnly(command)) {
+            return null;
+        }
+        return routers[slot];
+    }
+
+    private <T> void execute(AsyncRedisClientImpl node, CompletableFuture<T> future, List<AsyncRedisCommand> templates,
+                             BiFunction<AsyncRedisClientImpl, Queue<AsyncRedisCommand>, CompletableFuture<T>> invocation,
+                             CompletableFuture<T> result, int redirects) {
+        AsyncRedisDeadlines.cascade(result, future);
+        future.whenComplete((value, error) -> {
+            if (error == null) {
+                if (!result.complete(value) && value instanceof RedisReport) {
+                    RedisConverter.release(((RedisReport) value).getType());
+                }
+                return;
+            }
+            Redirect redirect = redirects < maxRedirects ? Redirect.parse(error) : null;
+            if (redirect == null || (redirect.ask && templates.size() > 1) || result.isDone()) {
+                result.completeExceptionally(error);
+                return;
+            }
+            try {
+                AsyncRedisClientImpl target = redirect(node, redirect);
+                Queue<AsyncRedisCommand> commands = copy(templates, redirect.ask);
+                execute(target, invocation.apply(target, commands), templates, invocation, result, redirects + 1);
+            } catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+    }
+
+    private AsyncRedisClientImpl redirect(AsyncRedisClientImpl node, Redirect redirect) {
+        String host = redirect.host.isEmpty() ? node.getConnectionPool().getHost() : redirect.host;
+        AsyncRedisClientImpl target = getNode(host, redirect.port);
+        if (!redirect.ask) {
+            slots[redirect.slot] = target;
+            refresh(target);
+        }
+        return target;
+    }
+
+    private static Queue<AsyncRedisCommand> copy(List<AsyncRedisCommand> templates, boolean asking) {
+        Queue<AsyncRedisCommand> commands = new LinkedList<>();
+        if (asking) {
+            commands.add(AsyncRedisCommand.createPrelude(ASKING_REQUEST));
+        }
+        for (AsyncRedisCommand template : templates) {
+            commands.add(template.copy());
+        }
+        return commands;
+    }
+
+    private void discover(int index, CompletableFuture<Void> ready, Throwable lastError) {
+        if (index >= seeds.size()) {
+            ready.completeExceptionally(new IllegalStateException("The cluster topology can not be discovered", lastError));
+            return;
+        }
+        CompletableFuture<Void> loaded;
+        try {
+            loaded = loadTopology(getNode(seeds.get(index)));
+        } catch (RuntimeException ex) {
+            discover(index + 1, ready, ex);
+            return;
+        }
+        loaded.whenComplete((ignored, error) -> {
+            if (error == null) {
+                ready.complete(null);
+            } else {
+                discover(index + 1, ready, error);
+            }
+        });
+    }
+
+    private void refresh(AsyncRedisClientImpl node) {
+        if (!started.get() || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture<Void> loaded;
+        try {
+            loaded = loadTopology(node);
+        } catch (RuntimeException ex) {
+            refreshing.set(false);
+            retryRefresh(node, ex);
+            return;
+        }
+        loaded.whenComplete((ignored, error) -> {
+            refreshing.set(false);
+            if (error != null) {
+                retryRefresh(node, error);
+            }
+        });
+    }
+
+    private void retryRefresh(AsyncRedisClientImpl failed, Throwable error) {
+        refreshFailures.incrementAndGet();
+        LOGGER.warn("The cluster topology can not be refreshed", error);
+        if (!started.get()) {
+            return;
+        }
+        List<AsyncRedisClientImpl> masters = getMasters();
+        AsyncRedisClientImpl next = masters.isEmpty() ? failed : masters.get((masters.indexOf(failed) + 1) % masters.size());
+        workerGroup.schedule(() -> refresh(next), REFRESH_RETRY_DELAY, TimeUnit.MILLISECONDS);
+    }
+
+    private CompletableFuture<Void> loadTopology(AsyncRedisClientImpl node) {
+        return node.runQuery(AsyncRedisClientImpl.createCommands(CLUSTER, SLOTS, null), true)
+                .thenAccept(report -> applyTopology(node, report.getList()));
+    }
+
+    private void applyTopology(AsyncRedisClientImpl source, List<Object> ranges) {
+        if (ranges == null || ranges.isEmpty()) {
+            throw new IllegalStateException("The cluster has no assigned slots");
+        }
+        AsyncRedisClientImpl[] topology = new AsyncRedisClientImpl[RedisClusterSlot.SLOTS];
+        AsyncRedisReadRouter[] routers = replicaFactory == null ? null : new AsyncRedisReadRouter[RedisClusterSlot.SLOTS];
+        Set<AsyncRedisClientImpl> active = new LinkedHashSet<>();
+        for (Object range : ranges) {
+            try {
+                List<?> entry = (List<?>) range;
+                int first = toInt(entry.get(0));
+                int last = toInt(entry.get(1)) + 1;
+                AsyncRedisClientImpl node = getNode(source, (List<?>) entry.get(2), nodeFactory);
+                active.add(node);
+                Arrays.fill(topology, first, last, node);
+                if (routers != null) {
+                    List<AsyncRedisClientImpl> replicas = new ArrayList<>(entry.size() - 3);
+                    for (int i = 3; i < entry.size(); i++) {
+                        replicas.add(getNode(source, (List<?>) entry.get(i), replicaFactory));
+                    }
+                    active.addAll(replicas);
+                    Arrays.fill(routers, first, last, new AsyncRedisReadRouter(node, replicas, readFrom));
+                }
+            } catch (ClassCastException | IndexOutOfBoundsException | NumberFormatException ex) {
+                throw new IllegalStateException("The cluster slots reply can not be parsed: " + range, ex);
+            }
+        }
+        slots = topology;
+        readers = routers;
+        for (Map.Entry<String, AsyncRedisClientImpl> entry : nodes.entrySet()) {
+            if (!active.contains(entry.getValue()) && nodes.remove(entry.getKey(), entry.getValue())) {
+                entry.getValue().shutdown();
+            }
+        }
+    }
+
+    private AsyncRedisClientImpl getNode(String address) {
+        int separator = address.lastIndexOf(':');
+        return getNode(address.substring(0, separator), Integer.parseInt(address.substring(separator + 1)));
+    }
+
+    private AsyncRedisClientImpl getNode(AsyncRedisClientImpl source, List<?> address,
+                                         BiFunction<String, Integer, AsyncRedisClientImpl> factory) {
+        String host = (String) address.get(0);
+        if (host == null || host.isEmpty() || UNKNOWN_HOST.equals(host)) {
+            host = source.getConnectionPool().getHost();
+        }
+        return getNode(host, toInt(address.get(1)), factory);
+    }
+
+    private AsyncRedisClientImpl getNode(String host, int port) {
+        return getNode(host, port, nodeFactory);
+    }
+
+    private AsyncRedisClientImpl getNode(String host, int port, BiFunction<String, Integer, AsyncRedisClientImpl> factory) {
+        String address = host + ':' + port;
+        AsyncRedisClientImpl node = nodes.get(address);
+        if (node != null) {
+            return node;
+        }
+        if (!started.get()) {
+            throw new IllegalStateException("The client has been stopped");
+        }
+        node = nodes.computeIfAbsent(address, ignored -> {
+            AsyncRedisClientImpl created = factory.apply(host, port);
+            created.start();
+            return created;
+        });
+        if (!started.get() && nodes.remove(address, node)) {
+            node.shutdown();
+            throw new IllegalStateException("The client has been stopped");
+        }
+        return node;
+    }
+
+    private static int toInt(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        if (value instanceof byte[]) {
+            return Integer.parseInt(new String((byte[]) value, CharsetUtil.UTF_8));
+        }
+        return Integer.parseInt(String.valueOf(value));
+    }
+
+    private static final class Redirect {
+
+        private final boolean ask;
+        private final int slot;
+        private final String host;
+        private final int port;
+
+        private Redirect(boolean ask, int slot, String host, int port) {
+            this.ask = ask;
+            this.slot = slot;
+            this.host = host;
+            this.port = port;
+        }
+
+        private static Redirect parse(Throwable error) {
+            String message = error.getMessage();
+            if (message == null) {
+                return null;
+            }
+            boolean ask;
+            if (message.startsWith(MOVED)) {
+                ask = false;
+            } else if (message.startsWith(ASK)) {
+                ask = true;
+            } else {
+                return null;
+            }
+            String[] parts = message.split(" ");
+            if (parts.length != 3) {
+                return null;
+            }
+            int separator = parts[2].lastIndexOf(':');
+            if (separator < 0) {
+                return null;
+            }
+            try {
+                int slot = Integer.parseInt(parts[1]);
+                if (slot < 0 || slot >= RedisClusterSlot.SLOTS) {
+                    return null;
+                }
+                return new Redirect(ask, slot, parts[2].substring(0, separator), Integer.parseInt(parts[2].substring(separator + 1)));
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+
+    }
+
+    private final class ClusterStreamSubscriber implements RedisStreamSubscriber, RedisStreamSubscription {
+
+        private final RedisStreamSubscriber subscriber;
+        private final List<AsyncRedisCommand> templates;
+        private final AtomicLong requested;
+        private volatile RedisStreamSubscription current;
+        private volatile boolean cancelled;
+        private AsyncRedisClientImpl node;
+        private boolean subscribed;
+        private boolean emitted;
+        private int redirects;
+
+        private ClusterStreamSubscriber(RedisStreamSubscriber subscriber, List<AsyncRedisCommand> templates) {
+            this.subscriber = subscriber;
+            this.templates = templates;
+            this.requested = new AtomicLong();
+        }
+
+        private void subscribe(AsyncRedisClientImpl node, Queue<AsyncRedisCommand> commands) {
+            this.node = node;
+            node.runStreamQuery(commands, this);
+        }
+
+        @Override
+        public void onSubscribe(RedisStreamSubscription subscription) {
+            current = subscription;
+            if (!subscribed) {
+                subscribed = true;
+                subscriber.onSubscribe(this);
+                return;
+            }
+            if (cancelled) {
+                subscription.cancel();
+                return;
+            }
+            long outstanding = requested.get();
+            if (outstanding > 0) {
+                subscription.request(outstanding);
+            }
+        }
+
+        @Override
+        public void onNext(Object element) {
+            emitted = true;
+            requested.getAndUpdate(value -> value == Long.MAX_VALUE ? value : value - 1);
+            subscriber.onNext(element);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            Redirect redirect = !emitted && !cancelled && redirects < maxRedirects ? Redirect.parse(error) : null;
+            if (redirect == null) {
+                subscriber.onError(error);
+                return;
+            }
+            redirects++;
+            try {
+                subscribe(redirect(node, redirect), copy(templates, redirect.ask));
+            } catch (RuntimeException ex) {
+                subscriber.onError(ex);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            subscriber.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n > 0) {
+                requested.getAndUpdate(value -> value + n < 0 ? Long.MAX_VALUE : value + n);
+            }
+            current.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            current.cancel();
+        }
+
+    }
+
+    private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(AsyncRedisClusterClientImpl.class);
+    private static final long REFRESH_RETRY_DELAY = 1000;
+    private static final String CLUSTER = "cluster";
+    private static final String SLOTS = "slots";
+    private static final String UNKNOWN_HOST = "?";
+    private static final String MOVED = "MOVED ";
+    private static final String ASK = "ASK ";
+    private static final RedisRequest ASKING_REQUEST = RedisConverter.createRequest("asking", null, null);
+
+}
@@ -0,0 +1,100 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.JavaRedisDeserializer;
+import com.github.jasync.redis.JavaRedisSerializer;
+import com.github.jasync.redis.RedisQuery;
+import com.github.jasync.redis.RedisReport;
+import com.github.jasync.redis.utils.RedisConverter;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public final class AsyncRedisClusterRequest implements RedisQuery {
+
+    private final AsyncRedisClusterClientImpl client;
+    private final Queue<AsyncRedisCommand> listOfCommands;
+    private int slot = -1;
+    private long timeout = -1;
+
+    AsyncRedisClusterRequest(AsyncRedisClusterClientImpl client) {
+        this.client = client;
+        this.listOfCommands = new LinkedList<>();
+    }
+
+    @Override
+    public RedisQuery withQuery(String command, String key, Object... args) {
+        return withQuery(command, key, null, null, args);
+    }
+
+    @Override
+    public RedisQuery withQuery(String command, String key, JavaRedisSerializer serializer, Object... args) {
+        return withQuery(command, key, serializer, null, args);
+    }
+
+    @Override
+    public RedisQuery withQuery(String command, String key, JavaRedisDeserializer deserializer, Object... args) {
+        return withQuery(command, key, null, deserializer, args);
+    }
+
+    @Override
+    public RedisQuery withQuery(String command, String key, JavaRedisSerializer serializer, JavaRedisDeserializer deserializer, Object... args) {
+        route(AsyncRedisClusterClientImpl.getSlot(key));
+        listOfCommands.add(new AsyncRedisCommand(RedisConverter.createRequest(command, key, serializer, args), deserializer));
+        return this;
+    }
+
+    @Override
+    public RedisQuery withScript(String script, Object... args) {
+        return withScript(script, null, null, args);
+    }
+
+    @Override
+    public RedisQuery withScript(String script, JavaRedisSerializer serializer, Object... args) {
+        return withScript(script, serializer, null, args);
+    }
+
+    @Override
+    public RedisQuery withScript(String script, JavaRedisDeserializer deserializer, Object... args) {
+        return withScript(script, null, deserializer, args);
+    }
+
+    @Override
+    public RedisQuery withScript(String script, JavaRedisSerializer serializer, JavaRedisDeserializer deserializer, Object... args) {
+        route(AsyncRedisClusterClientImpl.getScriptSlot(args));
+        listOfCommands.add(client.getNode(slot).getScripts().createCommand(script, serializer, deserializer, args));
+        return this;
+    }
+
+    @Override
+    public RedisQuery withTimeout(long timeout, TimeUnit timeUnit) {
+        long millis = timeUnit.toMillis(timeout);
+        if (millis < 1) {
+            throw new IllegalStateException("The timeout can not be less then 1 millisecond");
+        }
+        this.timeout = millis;
+        return this;
+    }
+
+    @Override
+    public CompletableFuture<RedisReport> proceed() {
+        int countOfCommands = listOfCommands.size();
+        if (countOfCommands > 0) {
+            return client.execute(client.getNode(slot), listOfCommands, timeout,
+                    (node, commands) -> node.runQuery(commands, countOfCommands == 1, timeout));
+        }
+        throw new IllegalStateException("The list of commands can not be empty");
+    }
+
+    private void route(int commandSlot) {
+        if (commandSlot < 0) {
+            return;
+        }
+        if (slot >= 0 && slot != commandSlot) {
+            throw new IllegalStateException("The keys of a query can not belong to different slots");
+        }
+        slot = commandSlot;
+    }
+
+}
@@ -1,23 +1,87 @@
 package com.github.jasync.redis.engine;
 
 import com.github.jasync.redis.JavaRedisDeserializer;
-import io.netty.handler.codec.redis.RedisMessage;
+import com.github.jasync.redis.utils.RedisRequest;
 
 public class AsyncRedisCommand {
 
     private final JavaRedisDeserializer deserializer;
-    private final RedisMessage request;
+    private final RedisRequest request;
+    private final String script;
+    private final boolean prelude;
+    private AsyncRedisCommands owner;
+    private int index;
 
-    public AsyncRedisCommand(RedisMessage request, JavaRedisDeserializer deserializer) {
+    public AsyncRedisCommand(RedisRequest request, JavaRedisDeserializer deserializer) {
+        this(request, deserializer, null);
+    }
+
+    public AsyncRedisCommand(RedisRequest request, JavaRedisDeserializer deserializer, String script) {
+        this(request, deserializer, script, false);
+    }
+
+    private AsyncRedisCommand(RedisRequest request, JavaRedisDeserializer deserializer, String script, boolean prelude) {
         this.request = request;
         this.deserializer = deserializer;
+        this.script = script;
+        this.prelude = prelude;
+    }
+
+    static AsyncRedisCommand createPrelude(RedisRequest request) {
+        return new AsyncRedisCommand(request, null, null, true);
     }
 
     public JavaRedisDeserializer getDeserializer() {
         return deserializer;
     }
 
-    public RedisMessage getRequest() {
+    public RedisRequest getRequest() {
         return request;
     }
+
+    AsyncRedisCommands getOwner() {
+        return owner;
+    }
+
+    void setOwner(AsyncRedisCommands owner) {
+        this.owner = owner;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    void setIndex(int index) {
+        this.index = index;
+    }
+
+    boolean isPrelude() {
+        return prelude;
+    }
+
+    boolean hasScript() {
+        return script != null;
+    }
+
+    String getScript() {
+        return script;
+    }
+
+    String getDigest() {
+        return (String) request.getArgument(1);
+    }
+
+    AsyncRedisCommand createRetry() {
+        AsyncRedisCommand command = new AsyncRedisCommand(request.withCommand(EVAL, script), deserializer);
+        command.setOwner(owner);
+        command.setIndex(index);
+        return command;
+    }
+
+    AsyncRedisCommand copy() {
+        return new AsyncRedisCommand(request, deserializer, script, prelude);
+    }
+
+    private static final String EVAL = "eval";
+
 }
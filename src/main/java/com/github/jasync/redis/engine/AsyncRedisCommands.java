@@ -1,15 +1,30 @@
 package com.github.jasync.redis.engine;
 
 import com.github.jasync.redis.RedisReport;
+import com.github.jasync.redis.utils.RedisConverter;
+import com.github.jasync.redis.utils.RedisRequest;
 
+import java.util.Arrays;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 public class AsyncRedisCommands {
 
     private final boolean isSingle;
     private final CompletableFuture<RedisReport> listenableFuture;
     private final Queue<AsyncRedisCommand> asyncRedisCommand;
+    private int awaitingReplies;
+    private int commandCount;
+    private Object result;
+    private Object[] results;
+    private Throwable error;
+    private AsyncRedisCommand firstCommand;
+    private long submitTime;
+    private long writeTime;
+    private volatile AsyncRedisAdmission admission;
+    private long admitTime;
+    private long timeout = -1;
 
     AsyncRedisCommands(Queue<AsyncRedisCommand> asyncRedisCommand, boolean isSingle, CompletableFuture<RedisReport> listenableFuture) {
         this.asyncRedisCommand = asyncRedisCommand;
@@ -17,17 +32,149 @@ public class AsyncRedisCommands {
         this.listenableFuture = listenableFuture;
     }
 
+    long getTimeout() {
+        return timeout;
+    }
+
+    void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
     boolean isSingle() {
         return isSingle;
     }
 
-    CompletableFuture<RedisReport> getListenableFuture() {
-        return listenableFuture;
+    boolean isLongReply() {
+        return false;
+    }
+
+    boolean isStreamReply() {
+        return false;
     }
 
     AsyncRedisCommand getNextCommand() {
-        return asyncRedisCommand.poll();
+        AsyncRedisCommand command = asyncRedisCommand.poll();
+        if (command != null) {
+            command.setOwner(this);
+            if (!command.isPrelude()) {
+                if (commandCount == 0) {
+                    firstCommand = command;
+                }
+                command.setIndex(commandCount++);
+            }
+            awaitingReplies++;
+        }
+        return command;
+    }
+
+    AsyncRedisCommand createPrelude(RedisRequest request) {
+        AsyncRedisCommand command = AsyncRedisCommand.createPrelude(request);
+        command.setOwner(this);
+        awaitingReplies++;
+        return command;
+    }
+
+    boolean addResult(AsyncRedisCommand command, Object result) {
+        if (isSingle) {
+            this.result = result;
+        } else {
+            if (results == null) {
+                results = new Object[commandCount];
+            }
+            results[command.getIndex()] = result;
+        }
+        return countReply();
+    }
+
+    boolean addLong(AsyncRedisCommand command, long value) {
+        return addResult(command, value);
+    }
+
+    boolean addError(Throwable error) {
+        if (this.error == null) {
+            this.error = error;
+        }
+        return countReply();
+    }
+
+    void complete() {
+        if (error != null) {
+            fail(error);
+            return;
+        }
+        RedisReport report = getReport();
+        if (!listenableFuture.complete(report)) {
+            releaseResults();
+        }
+    }
+
+    void fail(Throwable cause) {
+        releaseResults();
+        listenableFuture.completeExceptionally(cause);
+    }
+
+    boolean isDone() {
+        return listenableFuture.isDone();
+    }
+
+    boolean countReply() {
+        return --awaitingReplies == 0;
+    }
+
+    RedisReport getReport() {
+        return new AsyncRedisResponse(isSingle ? result : Arrays.asList(results));
+    }
+
+    void releaseResults() {
+        RedisConverter.release(result);
+        if (results != null) {
+            RedisConverter.release(Arrays.asList(results));
+        }
+        result = null;
+        results = null;
+    }
+
+    Throwable getError() {
+        return error;
+    }
+
+    void markAdmitted(AsyncRedisAdmission admission, long now) {
+        this.admitTime = now;
+        this.admission = admission;
+    }
+
+    void releaseAdmission(Throwable cause) {
+        AsyncRedisAdmission admitted = ADMISSION.getAndSet(this, null);
+        if (admitted != null) {
+            admitted.release(System.nanoTime() - admitTime, cause);
+        }
+    }
+
+    void markSubmitted(long now) {
+        submitTime = now;
+    }
+
+    void markWritten(long now) {
+        writeTime = now;
+    }
+
+    long getSubmitTime() {
+        return submitTime;
+    }
+
+    long getWriteTime() {
+        return writeTime;
+    }
+
+    String getName() {
+        if (firstCommand == null || submitTime == 0) {
+            return null;
+        }
+        return commandCount > 1 ? PIPELINE : firstCommand.getRequest().getName();
     }
 
+    private static final String PIPELINE = "pipeline";
+    private static final AtomicReferenceFieldUpdater<AsyncRedisCommands, AsyncRedisAdmission> ADMISSION =
+            AtomicReferenceFieldUpdater.newUpdater(AsyncRedisCommands.class, AsyncRedisAdmission.class, "admission");
 
 }
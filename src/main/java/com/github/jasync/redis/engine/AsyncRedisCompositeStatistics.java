@@ -0,0 +1,162 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.RedisHistogram;
+import com.github.jasync.redis.RedisStatistics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AsyncRedisCompositeStatistics implements RedisStatistics {
+
+    private final Collection<AsyncRedisClientImpl> nodes;
+    private final AtomicLong topologyRefreshFailures;
+
+    AsyncRedisCompositeStatistics(Collection<AsyncRedisClientImpl> nodes) {
+        this(nodes, new AtomicLong());
+    }
+
+    AsyncRedisCompositeStatistics(Collection<AsyncRedisClientImpl> nodes, AtomicLong topologyRefreshFailures) {
+        this.nodes = nodes;
+        this.topologyRefreshFailures = topologyRefreshFailures;
+    }
+
+    @Override
+    public long getFlushes() {
+        long flushes = 0;
+        for (AsyncRedisClientImpl node : nodes) {
+            flushes += node.getStatistics().getFlushes();
+        }
+        return flushes;
+    }
+
+    @Override
+    public SortedMap<Integer, Long> getFlushBatchSizes() {
+        SortedMap<Integer, Long> batchSizes = new TreeMap<>();
+        for (AsyncRedisClientImpl node : nodes) {
+            node.getStatistics().getFlushBatchSizes().forEach((size, count) -> batchSizes.merge(size, count, Long::sum));
+        }
+        return batchSizes;
+    }
+
+    @Override
+    public long getNearCacheHits() {
+        long count = 0;
+        for (AsyncRedisClientImpl node : nodes) {
+            count += node.getStatistics().getNearCacheHits();
+        }
+        return count;
+    }
+
+    @Override
+    public long getNearCacheMisses() {
+        long count = 0;
+        for (AsyncRedisClientImpl node : nodes) {
+            count += node.getStatistics().getNearCacheMisses();
+        }
+        return count;
+    }
+
+    @Override
+    public long getNearCacheEvictions() {
+        long count = 0;
+        for (AsyncRedisClientImpl node : nodes) {
+            count += node.getStatistics().getNearCacheEvictions();
+        }
+        return count;
+    }
+
+    @Override
+    public long getNearCacheInvalidations() {
+        long count = 0;
+        for (AsyncRedisClientImpl node : nodes) {
+            count += node.getStatistics().getNearCacheInvalidations();
+        }
+        return count;
+    }
+
+    @Override
+    public int getPendingCommands() {
+        int count = 0;
+        for (AsyncRedisClientImpl node : nodes) {
+            count += node.getStatistics().getPendingCommands();
+        }
+        return count;
+    }
+
+    @Override
+    public long getRejectedCommands() {
+        long count = 0;
+        for (AsyncRedisClientImpl node : nodes) {
+            count += node.getStatistics().getRejectedCommands();
+        }
+        return count;
+    }
+
+    @Override
+    public int getConcurrencyLimit() {
+        int count = 0;
+        for (AsyncRedisClientImpl node : nodes) {
+            count += node.getStatistics().getConcurrencyLimit();
+        }
+        return count;
+    }
+
+    @Override
+    public int getChannels() {
+        int count = 0;
+        for (AsyncRedisClientImpl node : nodes) {
+            count += node.getStatistics().getChannels();
+        }
+        return count;
+    }
+
+    @Override
+    public int getIdleChannels() {
+        int count = 0;
+        for (AsyncRedisClientImpl node : nodes) {
+            count += node.getStatistics().getIdleChannels();
+        }
+        return count;
+    }
+
+    @Override
+    public long getReconnects() {
+        long count = 0;
+        for (AsyncRedisClientImpl node : nodes) {
+            count += node.getStatistics().getReconnects();
+        }
+        return count;
+    }
+
+    @Override
+    public long getTopologyRefreshFailures() {
+        return topologyRefreshFailures.get();
+    }
+
+    @Override
+    public SortedMap<String, RedisHistogram> getQueueTimes() {
+        return merge(true);
+    }
+
+    @Override
+    public SortedMap<String, RedisHistogram> getWireTimes() {
+        return merge(false);
+    }
+
+    private SortedMap<String, RedisHistogram> merge(boolean queueTimes) {
+        SortedMap<String, List<RedisHistogram>> histograms = new TreeMap<>();
+        for (AsyncRedisClientImpl node : nodes) {
+            RedisStatistics statistics = node.getStatistics();
+            (queueTimes ? statistics.getQueueTimes() : statistics.getWireTimes()).forEach((command, histogram) ->
+                    histograms.computeIfAbsent(command, name -> new ArrayList<>()).add(histogram));
+        }
+        SortedMap<String, RedisHistogram> merged = new TreeMap<>();
+        histograms.forEach((command, list) -> merged.put(command, AsyncRedisHistogram.merge(list)));
+        return merged;
+    }
+
+}
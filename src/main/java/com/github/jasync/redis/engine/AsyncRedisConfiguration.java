@@ -1,5 +1,16 @@
 package com.github.jasync.redis.engine;
 
+import com.github.jasync.redis.RedisMetricsListener;
+import com.github.jasync.redis.RedisOverloadPolicy;
+import com.github.jasync.redis.RedisPushListener;
+import com.github.jasync.redis.RedisReadFrom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 public class AsyncRedisConfiguration {
@@ -7,10 +18,33 @@ public class AsyncRedisConfiguration {
     private String host = "127.0.0.1";
     private int port = 6379, db = -1;
     private int maxActiveChannels = 2, minActiveChannels = 1;
+    private int maxPipelinedCommands = 1;
+    private int maxFlushCommands = 0;
+    private long maxFlushDelay = 100;
     private int consumers = 1;
     private long maxIdleChannelTimeout = 60000;
     private int maxPendingCommands = 10000;
     private long commandTimeout = 10000;
+    private long acquireChannelTimeout = 10000;
+    private long minReconnectDelay = 100, maxReconnectDelay = 10000;
+    private int nearCacheSize = 0;
+    private long nearCacheTimeToLive = 60000;
+    private int protocolVersion = 2;
+    private RedisPushListener pushListener;
+    private List<String> clusterNodes = new ArrayList<>();
+    private int maxRedirects = 5;
+    private List<String> replicas = new ArrayList<>();
+    private RedisReadFrom readFrom = RedisReadFrom.PRIMARY;
+    private Map<String, Integer> shards = new LinkedHashMap<>();
+    private int subscriberChannels = 1;
+    private int maxSubscribeBatch = 1000;
+    private Executor messageExecutor;
+    private int messageStripes = 16;
+    private RedisOverloadPolicy overloadPolicy = RedisOverloadPolicy.FAIL_FAST;
+    private long maxAdmissionDelay = 1000;
+    private boolean metrics = false;
+    private RedisMetricsListener metricsListener;
+    private boolean jmx = false;
 
     public static AsyncRedisConfiguration withDefault() {
         return new AsyncRedisConfiguration();
@@ -39,6 +73,18 @@ public class AsyncRedisConfiguration {
         return minActiveChannels;
     }
 
+    public int getMaxPipelinedCommands() {
+        return maxPipelinedCommands;
+    }
+
+    public int getMaxFlushCommands() {
+        return maxFlushCommands;
+    }
+
+    public long getMaxFlushDelay() {
+        return maxFlushDelay;
+    }
+
     public long getMaxIdleChannelTimeout() {
         return maxIdleChannelTimeout;
     }
@@ -51,6 +97,90 @@ public class AsyncRedisConfiguration {
         return commandTimeout;
     }
 
+    public long getAcquireChannelTimeout() {
+        return acquireChannelTimeout;
+    }
+
+    public long getMinReconnectDelay() {
+        return minReconnectDelay;
+    }
+
+    public long getMaxReconnectDelay() {
+        return maxReconnectDelay;
+    }
+
+    public int getNearCacheSize() {
+        return nearCacheSize;
+    }
+
+    public long getNearCacheTimeToLive() {
+        return nearCacheTimeToLive;
+    }
+
+    public int getProtocolVersion() {
+        return protocolVersion;
+    }
+
+    public RedisPushListener getPushListener() {
+        return pushListener;
+    }
+
+    public List<String> getClusterNodes() {
+        return clusterNodes;
+    }
+
+    public int getMaxRedirects() {
+        return maxRedirects;
+    }
+
+    public List<String> getReplicas() {
+        return replicas;
+    }
+
+    public RedisReadFrom getReadFrom() {
+        return readFrom;
+    }
+
+    public Map<String, Integer> getShards() {
+        return shards;
+    }
+
+    public int getSubscriberChannels() {
+        return subscriberChannels;
+    }
+
+    public int getMaxSubscribeBatch() {
+        return maxSubscribeBatch;
+    }
+
+    public Executor getMessageExecutor() {
+        return messageExecutor;
+    }
+
+    public int getMessageStripes() {
+        return messageStripes;
+    }
+
+    public RedisOverloadPolicy getOverloadPolicy() {
+        return overloadPolicy;
+    }
+
+    public long getMaxAdmissionDelay() {
+        return maxAdmissionDelay;
+    }
+
+    public boolean isMetrics() {
+        return metrics;
+    }
+
+    public RedisMetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
+    public boolean isJmx() {
+        return jmx;
+    }
+
     public int getConsumers() {
         return consumers;
     }
@@ -80,6 +210,17 @@ public class AsyncRedisConfiguration {
         return this;
     }
 
+    public AsyncRedisConfiguration withMaxPipelinedCommands(int maxPipelinedCommands) {
+        this.maxPipelinedCommands = maxPipelinedCommands;
+        return this;
+    }
+
+    public AsyncRedisConfiguration withFlushConsolidation(int maxFlushCommands, long maxFlushDelay, TimeUnit timeUnit) {
+        this.maxFlushCommands = maxFlushCommands;
+        this.maxFlushDelay = timeUnit.toMicros(maxFlushDelay);
+        return this;
+    }
+
     public AsyncRedisConfiguration withMaxIdleChannelTimeout(long maxIdleChannelTimeout, TimeUnit timeUnit) {
         this.maxIdleChannelTimeout = timeUnit.toMillis(maxIdleChannelTimeout);
         return this;
@@ -95,6 +236,111 @@ public class AsyncRedisConfiguration {
         return this;
     }
 
+    public AsyncRedisConfiguration withAcquireChannelTimeout(long acquireChannelTimeout, TimeUnit timeUnit) {
+        this.acquireChannelTimeout = timeUnit.toMillis(acquireChannelTimeout);
+        return this;
+    }
+
+    public AsyncRedisConfiguration withReconnectDelay(long minReconnectDelay, long maxReconnectDelay, TimeUnit timeUnit) {
+        this.minReconnectDelay = timeUnit.toMillis(minReconnectDelay);
+        this.maxReconnectDelay = timeUnit.toMillis(maxReconnectDelay);
+        return this;
+    }
+
+    public AsyncRedisConfiguration withNearCache(int nearCacheSize, long nearCacheTimeToLive, TimeUnit timeUnit) {
+        this.nearCacheSize = nearCacheSize;
+        this.nearCacheTimeToLive = timeUnit.toMillis(nearCacheTimeToLive);
+        return this;
+    }
+
+    public AsyncRedisConfiguration withProtocolVersion(int protocolVersion) {
+        this.protocolVersion = protocolVersion;
+        return this;
+    }
+
+    public AsyncRedisConfiguration withPushListener(RedisPushListener pushListener) {
+        this.pushListener = pushListener;
+        return this;
+    }
+
+    public AsyncRedisConfiguration withClusterNodes(String... clusterNodes) {
+        this.clusterNodes = new ArrayList<>(Arrays.asList(clusterNodes));
+        return this;
+    }
+
+    public AsyncRedisConfiguration withMaxRedirects(int maxRedirects) {
+        this.maxRedirects = maxRedirects;
+        return this;
+    }
+
+    public AsyncRedisConfiguration withReplicas(String... replicas) {
+        this.replicas = new ArrayList<>(Arrays.asList(replicas));
+        return this;
+    }
+
+    public AsyncRedisConfiguration withReadFrom(RedisReadFrom readFrom) {
+        this.readFrom = readFrom;
+        return this;
+    }
+
+    public AsyncRedisConfiguration withShards(String... shards) {
+        this.shards = new LinkedHashMap<>();
+        for (String shard : shards) {
+            this.shards.put(shard, 1);
+        }
+        return this;
+    }
+
+    public AsyncRedisConfiguration withShard(String shard, int weight) {
+        this.shards.put(shard, weight);
+        return this;
+    }
+
+    public AsyncRedisConfiguration withSubscriberChannels(int subscriberChannels) {
+        this.subscriberChannels = subscriberChannels;
+        return this;
+    }
+
+    public AsyncRedisConfiguration withMaxSubscribeBatch(int maxSubscribeBatch) {
+        this.maxSubscribeBatch = maxSubscribeBatch;
+        return this;
+    }
+
+    public AsyncRedisConfiguration withMessageExecutor(Executor messageExecutor) {
+        this.messageExecutor = messageExecutor;
+        return this;
+    }
+
+    public AsyncRedisConfiguration withMessageStripes(int messageStripes) {
+        this.messageStripes = messageStripes;
+        return this;
+    }
+
+    public AsyncRedisConfiguration withOverloadPolicy(RedisOverloadPolicy overloadPolicy) {
+        this.overloadPolicy = overloadPolicy;
+        return this;
+    }
+
+    public AsyncRedisConfiguration withMaxAdmissionDelay(long maxAdmissionDelay, TimeUnit timeUnit) {
+        this.maxAdmissionDelay = timeUnit.toMillis(maxAdmissionDelay);
+        return this;
+    }
+
+    public AsyncRedisConfiguration withMetrics(boolean metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    public AsyncRedisConfiguration withMetricsListener(RedisMetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+        return this;
+    }
+
+    public AsyncRedisConfiguration withJmx(boolean jmx) {
+        this.jmx = jmx;
+        return this;
+    }
+
     public AsyncRedisConfiguration withConsumers(int consumers) {
         this.consumers = consumers;
         return this;
@@ -0,0 +1,38 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.RedisTimeoutException;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+final class AsyncRedisDeadlines {
+
+    private AsyncRedisDeadlines() {
+    }
+
+    static <T> CompletableFuture<T> schedule(CompletableFuture<T> future, long timeout) {
+        return schedule(future, timeout,
+                () -> new RedisTimeoutException("The command has not been completed in " + timeout + " milliseconds"));
+    }
+
+    static <T> CompletableFuture<T> schedule(CompletableFuture<T> future, long timeout, Supplier<? extends Throwable> cause) {
+        if (timeout <= 0 || future.isDone()) {
+            return future;
+        }
+        Timeout deadline = TIMER.newTimeout(task -> future.completeExceptionally(cause.get()), timeout, TimeUnit.MILLISECONDS);
+        future.whenComplete((result, error) -> deadline.cancel());
+        return future;
+    }
+
+    static void cascade(CompletableFuture<?> outer, CompletableFuture<?> inner) {
+        outer.whenComplete((result, error) -> inner.cancel(false));
+    }
+
+    private static final HashedWheelTimer TIMER = new HashedWheelTimer(new DefaultThreadFactory("redis-deadlines", true),
+            10, TimeUnit.MILLISECONDS, 1024);
+
+}
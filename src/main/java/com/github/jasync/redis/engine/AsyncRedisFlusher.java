@@ -0,0 +1,62 @@
+package com.github.jasync.redis.engine;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+
+public class AsyncRedisFlusher {
+
+    private final ChannelHandlerContext ctx;
+    private final int maxCommands;
+    private final long maxDelay;
+    private final AsyncRedisStatistics statistics;
+    private final Runnable consolidateTask;
+    private int unflushedCommands;
+    private boolean scheduled;
+    private long firstWrite;
+
+    AsyncRedisFlusher(ChannelHandlerContext ctx, int maxCommands, long maxDelay, AsyncRedisStatistics statistics) {
+        this.ctx = ctx;
+        this.maxCommands = maxCommands;
+        this.maxDelay = maxDelay;
+        this.statistics = statistics;
+        this.consolidateTask = this::consolidate;
+    }
+
+    void written(int commands) {
+        unflushedCommands += commands;
+        if (unflushedCommands >= maxCommands) {
+            flush();
+            return;
+        }
+        if (!scheduled) {
+            scheduled = true;
+            firstWrite = System.nanoTime();
+            ctx.executor().execute(consolidateTask);
+        }
+    }
+
+    private void consolidate() {
+        if (unflushedCommands > 0 && hasPendingTasks() && System.nanoTime() - firstWrite < maxDelay) {
+            ctx.executor().execute(consolidateTask);
+            return;
+        }
+        scheduled = false;
+        flush();
+    }
+
+    private void flush() {
+        if (unflushedCommands == 0) {
+            return;
+        }
+        statistics.recordFlush(unflushedCommands);
+        unflushedCommands = 0;
+        ctx.flush();
+    }
+
+    private boolean hasPendingTasks() {
+        EventExecutor executor = ctx.executor();
+        return executor instanceof SingleThreadEventExecutor && ((SingleThreadEventExecutor) executor).pendingTasks() > 0;
+    }
+
+}
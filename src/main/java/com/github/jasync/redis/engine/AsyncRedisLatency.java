@@ -0,0 +1,76 @@
+package com.github.jasync.redis.engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class AsyncRedisLatency {
+
+    private final AtomicLong average;
+    private final AtomicLong samples;
+    private final AtomicInteger failures;
+    private final AtomicInteger ejections;
+    private final AtomicLong ejectedUntil;
+
+    AsyncRedisLatency() {
+        this.average = new AtomicLong(Double.doubleToRawLongBits(0));
+        this.samples = new AtomicLong();
+        this.failures = new AtomicInteger();
+        this.ejections = new AtomicInteger();
+        this.ejectedUntil = new AtomicLong();
+    }
+
+    void record(long nanos) {
+        failures.set(0);
+        boolean first = samples.getAndIncrement() == 0;
+        long current;
+        double updated;
+        do {
+            current = average.get();
+            updated = first ? nanos : Double.longBitsToDouble(current) + ALPHA * (nanos - Double.longBitsToDouble(current));
+        } while (!average.compareAndSet(current, Double.doubleToRawLongBits(updated)));
+    }
+
+    int recordFailure() {
+        return failures.incrementAndGet();
+    }
+
+    double getAverage() {
+        return Double.longBitsToDouble(average.get());
+    }
+
+    long getSamples() {
+        return samples.get();
+    }
+
+    boolean isAvailable(long now) {
+        long until = ejectedUntil.get();
+        if (until == 0) {
+            return true;
+        }
+        if (now - until < 0) {
+            return false;
+        }
+        if (ejectedUntil.compareAndSet(until, 0)) {
+            samples.set(0);
+            failures.set(0);
+        }
+        return true;
+    }
+
+    void eject(long now) {
+        if (ejectedUntil.get() != 0) {
+            return;
+        }
+        long until = now + Math.min(BASE_EJECTION * ejections.incrementAndGet(), MAX_EJECTION);
+        ejectedUntil.compareAndSet(0, until == 0 ? 1 : until);
+    }
+
+    void restore() {
+        ejections.set(0);
+    }
+
+    private static final double ALPHA = 0.2;
+    private static final long BASE_EJECTION = 5_000_000_000L;
+    private static final long MAX_EJECTION = 60_000_000_000L;
+
+}
@@ -0,0 +1,57 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.utils.RedisConverter;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+final class AsyncRedisLongArrayCommands extends AsyncRedisCommands {
+
+    private final CompletableFuture<long[]> future;
+    private long[] values;
+
+    AsyncRedisLongArrayCommands(Queue<AsyncRedisCommand> commands, CompletableFuture<long[]> future) {
+        super(commands, true, null);
+        this.future = future;
+    }
+
+    @Override
+    boolean isLongReply() {
+        return true;
+    }
+
+    @Override
+    boolean addResult(AsyncRedisCommand command, Object result) {
+        if (result instanceof long[]) {
+            this.values = (long[]) result;
+            return countReply();
+        }
+        RedisConverter.release(result);
+        return addError(new RuntimeException("The reply is not a list of numbers: " + result));
+    }
+
+    @Override
+    boolean addLong(AsyncRedisCommand command, long value) {
+        return addError(new RuntimeException("The reply is not a list of numbers: " + value));
+    }
+
+    @Override
+    boolean isDone() {
+        return future.isDone();
+    }
+
+    @Override
+    void complete() {
+        if (getError() != null) {
+            fail(getError());
+            return;
+        }
+        future.complete(values);
+    }
+
+    @Override
+    void fail(Throwable cause) {
+        future.completeExceptionally(cause);
+    }
+
+}
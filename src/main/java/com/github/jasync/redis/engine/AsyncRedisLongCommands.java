@@ -0,0 +1,66 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.utils.RedisConverter;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongConsumer;
+
+final class AsyncRedisLongCommands extends AsyncRedisCommands {
+
+    private final LongConsumer consumer;
+    private final CompletableFuture<Void> future;
+    private long value;
+
+    AsyncRedisLongCommands(Queue<AsyncRedisCommand> commands, LongConsumer consumer, CompletableFuture<Void> future) {
+        super(commands, true, null);
+        this.consumer = consumer;
+        this.future = future;
+    }
+
+    @Override
+    boolean isLongReply() {
+        return true;
+    }
+
+    @Override
+    boolean addResult(AsyncRedisCommand command, Object result) {
+        RedisConverter.release(result);
+        return addError(new RuntimeException("The reply is not a number: " + result));
+    }
+
+    @Override
+    boolean addLong(AsyncRedisCommand command, long value) {
+        this.value = value;
+        return countReply();
+    }
+
+    @Override
+    boolean isDone() {
+        return future.isDone();
+    }
+
+    @Override
+    void complete() {
+        if (future.isDone()) {
+            return;
+        }
+        if (getError() != null) {
+            fail(getError());
+            return;
+        }
+        try {
+            consumer.accept(value);
+        } catch (Throwable ex) {
+            future.completeExceptionally(ex);
+            return;
+        }
+        future.complete(null);
+    }
+
+    @Override
+    void fail(Throwable cause) {
+        future.completeExceptionally(cause);
+    }
+
+}
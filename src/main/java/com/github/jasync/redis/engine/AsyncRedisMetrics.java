@@ -0,0 +1,67 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.RedisHistogram;
+import com.github.jasync.redis.RedisMetricsListener;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class AsyncRedisMetrics {
+
+    private final ConcurrentHashMap<String, CommandMetrics> commands;
+    private final RedisMetricsListener listener;
+
+    AsyncRedisMetrics(RedisMetricsListener listener) {
+        this.commands = new ConcurrentHashMap<>();
+        this.listener = listener;
+    }
+
+    void record(AsyncRedisCommands owner, long now) {
+        String command = owner.getName();
+        if (command == null) {
+            return;
+        }
+        long queueNanos = owner.getWriteTime() - owner.getSubmitTime();
+        long wireNanos = now - owner.getWriteTime();
+        boolean failed = owner.getError() != null;
+        CommandMetrics metrics = commands.get(command);
+        if (metrics == null) {
+            metrics = commands.computeIfAbsent(command, name -> new CommandMetrics());
+        }
+        metrics.queueTimes.record(queueNanos);
+        metrics.wireTimes.record(wireNanos);
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onCommand(command, queueNanos, wireNanos, failed);
+        } catch (RuntimeException ex) {
+            LOGGER.warn("The metrics listener has failed", ex);
+        }
+    }
+
+    SortedMap<String, RedisHistogram> getQueueTimes() {
+        SortedMap<String, RedisHistogram> histograms = new TreeMap<>();
+        commands.forEach((command, metrics) -> histograms.put(command, metrics.queueTimes));
+        return histograms;
+    }
+
+    SortedMap<String, RedisHistogram> getWireTimes() {
+        SortedMap<String, RedisHistogram> histograms = new TreeMap<>();
+        commands.forEach((command, metrics) -> histograms.put(command, metrics.wireTimes));
+        return histograms;
+    }
+
+    private static final class CommandMetrics {
+
+        private final AsyncRedisHistogram queueTimes = new AsyncRedisHistogram();
+        private final AsyncRedisHistogram wireTimes = new AsyncRedisHistogram();
+
+    }
+
+    private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(AsyncRedisMetrics.class);
+
+}
@@ -0,0 +1,183 @@
+package com.github.jasync.redis.engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+final class AsyncRedisNearCache {
+
+    private final Segment[] segments;
+    private final long timeToLive;
+    private final LongAdder hits, misses, evictions, invalidations;
+    private volatile long trackingId;
+
+    AsyncRedisNearCache(int maxEntries, long timeToLive) {
+        int count = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxEntries));
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment((maxEntries + count - 1) / count);
+        }
+        this.timeToLive = timeToLive * 1000000L;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.invalidations = new LongAdder();
+        this.trackingId = -1;
+    }
+
+    long getTrackingId() {
+        return trackingId;
+    }
+
+    void setTrackingId(long trackingId) {
+        this.trackingId = trackingId;
+        invalidateAll();
+    }
+
+    Object get(String key) {
+        if (trackingId < 0) {
+            misses.increment();
+            return MISS;
+        }
+        Segment segment = getSegment(key);
+        synchronized (segment) {
+            Object cached = segment.get(key);
+            if (cached instanceof Entry) {
+                Entry entry = (Entry) cached;
+                if (entry.expiresAt - System.nanoTime() > 0) {
+                    hits.increment();
+                    return entry.value;
+                }
+                segment.remove(key);
+            }
+        }
+        misses.increment();
+        return MISS;
+    }
+
+    Object beginLoad(String key) {
+        long trackingId = this.trackingId;
+        if (trackingId < 0) {
+            return null;
+        }
+        Load load = new Load(trackingId);
+        Segment segment = getSegment(key);
+        synchronized (segment) {
+            if (segment.get(key) instanceof Load) {
+                return null;
+            }
+            segment.put(key, load);
+        }
+        return load;
+    }
+
+    void completeLoad(String key, Object load, Object value) {
+        Segment segment = getSegment(key);
+        synchronized (segment) {
+            if (segment.get(key) != load) {
+                return;
+            }
+            if (((Load) load).trackingId != trackingId) {
+                segment.remove(key);
+                return;
+            }
+            segment.put(key, new Entry(value, System.nanoTime() + timeToLive));
+        }
+    }
+
+    void cancelLoad(String key, Object load) {
+        Segment segment = getSegment(key);
+        synchronized (segment) {
+            if (segment.get(key) == load) {
+                segment.remove(key);
+            }
+        }
+    }
+
+    void invalidate(String key) {
+        Segment segment = getSegment(key);
+        synchronized (segment) {
+            if (segment.remove(key) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    void invalidateAll() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                invalidations.add(segment.size());
+                segment.clear();
+            }
+        }
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    long getEvictions() {
+        return evictions.sum();
+    }
+
+    long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    private Segment getSegment(String key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    private final class Segment extends LinkedHashMap<String, Object> {
+
+        private final int maxEntries;
+
+        private Segment(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+
+        private static final long serialVersionUID = 1L;
+
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+    private static final class Load {
+
+        private final long trackingId;
+
+        private Load(long trackingId) {
+            this.trackingId = trackingId;
+        }
+
+    }
+
+    static final Object MISS = new Object();
+    private static final int MAX_SEGMENTS = 16;
+
+}
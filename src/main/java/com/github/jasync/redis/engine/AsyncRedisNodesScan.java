@@ -0,0 +1,122 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.JavaRedisDeserializer;
+import com.github.jasync.redis.RedisScan;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class AsyncRedisNodesScan implements RedisScan {
+
+    private final List<AsyncRedisClientImpl> nodes;
+    private final String command;
+    private String pattern;
+    private int count;
+    private int prefetch;
+    private JavaRedisDeserializer deserializer;
+
+    AsyncRedisNodesScan(List<AsyncRedisClientImpl> nodes, String command) {
+        this.nodes = nodes;
+        this.command = command;
+        this.prefetch = 1;
+    }
+
+    @Override
+    public RedisScan withMatch(String pattern) {
+        this.pattern = pattern;
+        return this;
+    }
+
+    @Override
+    public RedisScan withCount(int count) {
+        this.count = count;
+        return this;
+    }
+
+    @Override
+    public RedisScan withDeserializer(JavaRedisDeserializer deserializer) {
+        this.deserializer = deserializer;
+        return this;
+    }
+
+    @Override
+    public RedisScan withPrefetch(int pages) {
+        this.prefetch = Math.max(1, pages);
+        return this;
+    }
+
+    @Override
+    public CompletableFuture<Void> forEachPage(Consumer<List<Object>> consumer) {
+        CompletableFuture<Void> done = CompletableFuture.completedFuture(null);
+        for (AsyncRedisClientImpl node : nodes) {
+            done = done.thenCompose(ignored -> createScan(node).forEachPage(consumer));
+        }
+        return done;
+    }
+
+    @Override
+    public Stream<Object> stream() {
+        NodesIterator iterator = new NodesIterator(nodes.iterator());
+        Spliterator<Object> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+    }
+
+    private RedisScan createScan(AsyncRedisClientImpl node) {
+        return new AsyncRedisScan(commands -> node.runQuery(commands, true), command, null)
+                .withMatch(pattern)
+                .withCount(count)
+                .withDeserializer(deserializer)
+                .withPrefetch(prefetch);
+    }
+
+    private final class NodesIterator implements Iterator<Object> {
+
+        private final Iterator<AsyncRedisClientImpl> iterator;
+        private Stream<Object> stream;
+        private Iterator<Object> current;
+
+        private NodesIterator(Iterator<AsyncRedisClientImpl> iterator) {
+            this.iterator = iterator;
+            this.current = Collections.emptyIterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                close();
+                if (!iterator.hasNext()) {
+                    return false;
+                }
+                stream = createScan(iterator.next()).stream();
+                current = stream.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        private void close() {
+            if (stream != null) {
+                stream.close();
+                stream = null;
+                current = Collections.emptyIterator();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.RedisReadFrom;
+import com.github.jasync.redis.RedisReplyException;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+final class AsyncRedisReadRouter {
+
+    private final AsyncRedisClientImpl primary;
+    private final AsyncRedisClientImpl[] replicas;
+    private final AsyncRedisClientImpl[] nodes;
+    private final RedisReadFrom readFrom;
+
+    AsyncRedisReadRouter(AsyncRedisClientImpl primary, List<AsyncRedisClientImpl> replicas, RedisReadFrom readFrom) {
+        this.primary = primary;
+        this.replicas = replicas.toArray(new AsyncRedisClientImpl[0]);
+        this.nodes = new AsyncRedisClientImpl[this.replicas.length + 1];
+        this.nodes[0] = primary;
+        System.arraycopy(this.replicas, 0, this.nodes, 1, this.replicas.length);
+        this.readFrom = readFrom;
+    }
+
+    AsyncRedisClientImpl select() {
+        if (readFrom == RedisReadFrom.PRIMARY || replicas.length == 0) {
+            return primary;
+        }
+        AsyncRedisClientImpl[] candidates = readFrom == RedisReadFrom.NEAREST ? nodes : replicas;
+        long now = System.nanoTime();
+        AsyncRedisClientImpl first = pick(candidates, now, null);
+        if (first == null) {
+            return primary;
+        }
+        AsyncRedisClientImpl second = pick(candidates, now, first);
+        if (second == null) {
+            return first;
+        }
+        return second.getLatency().getAverage() < first.getLatency().getAverage() ? second : first;
+    }
+
+    <T> CompletableFuture<T> track(AsyncRedisClientImpl node, CompletableFuture<T> future) {
+        if (readFrom == RedisReadFrom.PRIMARY || replicas.length == 0) {
+            return future;
+        }
+        long started = System.nanoTime();
+        future.whenComplete((ignored, error) -> {
+            long now = System.nanoTime();
+            AsyncRedisLatency latency = node.getLatency();
+            if (error == null || error instanceof RedisReplyException) {
+                latency.record(now - started);
+                if (isOutlier(node)) {
+                    eject(node, now, true);
+                } else {
+                    latency.restore();
+                }
+            } else if (latency.recordFailure() >= MAX_FAILURES) {
+                eject(node, now, false);
+            }
+        });
+        return future;
+    }
+
+    static boolean isReadOnly(String command) {
+        return READ_ONLY.contains(command.toLowerCase());
+    }
+
+    private boolean isOutlier(AsyncRedisClientImpl node) {
+        AsyncRedisLatency latency = node.getLatency();
+        if (latency.getSamples() < MIN_SAMPLES || latency.getAverage() < MIN_OUTLIER_LATENCY) {
+            return false;
+        }
+        double best = Double.MAX_VALUE;
+        for (AsyncRedisClientImpl other : nodes) {
+            AsyncRedisLatency otherLatency = other.getLatency();
+            if (other != node && otherLatency.getSamples() >= MIN_SAMPLES) {
+                best = Math.min(best, otherLatency.getAverage());
+            }
+        }
+        return best != Double.MAX_VALUE && latency.getAverage() > best * OUTLIER_FACTOR;
+    }
+
+    private void eject(AsyncRedisClientImpl node, long now, boolean outlier) {
+        if (node == primary) {
+            return;
+        }
+        if (outlier) {
+            int available = 0;
+            for (AsyncRedisClientImpl replica : replicas) {
+                if (replica.getLatency().isAvailable(now)) {
+                    available++;
+                }
+            }
+            if ((available - 1) * 2 <= replicas.length) {
+                return;
+            }
+        }
+        node.getLatency().eject(now);
+    }
+
+    private static AsyncRedisClientImpl pick(AsyncRedisClientImpl[] candidates, long now, AsyncRedisClientImpl exclude) {
+        int start = ThreadLocalRandom.current().nextInt(candidates.length);
+        for (int i = 0; i < candidates.length; i++) {
+            AsyncRedisClientImpl candidate = candidates[(start + i) % candidates.length];
+            if (candidate != exclude && candidate.getLatency().isAvailable(now)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static final int MAX_FAILURES = 3;
+    private static final long MIN_SAMPLES = 10;
+    private static final double MIN_OUTLIER_LATENCY = 1_000_000;
+    private static final double OUTLIER_FACTOR = 3;
+    private static final Set<String> READ_ONLY = new HashSet<>(Arrays.asList(
+            "get", "mget", "getrange", "strlen", "exists", "type", "ttl", "pttl", "expiretime", "pexpiretime",
+            "getbit", "bitcount", "bitpos", "dump", "object", "randomkey", "keys", "dbsize", "scan",
+            "hget", "hmget", "hgetall", "hkeys", "hvals", "hlen", "hexists", "hstrlen", "hrandfield", "hscan",
+            "lrange", "llen", "lindex", "lpos",
+            "smembers", "sismember", "smismember", "scard", "srandmember", "sinter", "sintercard", "sunion", "sdiff", "sscan",
+            "zrange", "zrangebyscore", "zrangebylex", "zrevrange", "zrevrangebyscore", "zrevrangebylex", "zscore",
+            "zmscore", "zcard", "zcount", "zlexcount", "zrank", "zrevrank", "zrandmember", "zscan",
+            "pfcount", "geopos", "geodist", "geohash", "georadius_ro", "georadiusbymember_ro", "geosearch",
+            "xrange", "xrevrange", "xlen", "xinfo",
+            "evalsha_ro", "eval_ro", "fcall_ro"
+    ));
+
+}
@@ -0,0 +1,103 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.AsyncRedisClient;
+import com.github.jasync.redis.JavaRedisDeserializer;
+import com.github.jasync.redis.RedisQuery;
+import com.github.jasync.redis.RedisReadFrom;
+import com.github.jasync.redis.RedisReport;
+import com.github.jasync.redis.RedisScan;
+import com.github.jasync.redis.RedisStatistics;
+import com.github.jasync.redis.RedisStreamSubscriber;
+import io.netty.channel.EventLoopGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+
+public class AsyncRedisReplicatedClientImpl implements AsyncRedisClient {
+
+    private final AtomicBoolean started;
+    private final AsyncRedisClientImpl primary;
+    private final List<AsyncRedisClientImpl> nodes;
+    private final AsyncRedisReadRouter router;
+    private final EventLoopGroup workerGroup;
+
+    AsyncRedisReplicatedClientImpl(AsyncRedisClientImpl primary, List<AsyncRedisClientImpl> replicas,
+                                   RedisReadFrom readFrom, EventLoopGroup workerGroup) {
+        this.started = new AtomicBoolean(false);
+        this.primary = primary;
+        this.nodes = new ArrayList<>(replicas.size() + 1);
+        this.nodes.add(primary);
+        this.nodes.addAll(replicas);
+        this.router = new AsyncRedisReadRouter(primary, replicas, readFrom);
+        this.workerGroup = workerGroup;
+    }
+
+    public CompletableFuture<RedisReport> runCommand(String command, String key, Object... args) {
+        if (!AsyncRedisReadRouter.isReadOnly(command)) {
+            return primary.runCommand(command, key, args);
+        }
+        AsyncRedisClientImpl node = router.select();
+        return router.track(node, node.runCommand(command, key, args));
+    }
+
+    public CompletableFuture<RedisReport> runScript(String script, Object... args) {
+        return primary.runScript(script, args);
+    }
+
+    public CompletableFuture<Void> runLongCommand(String command, String key, LongConsumer consumer, Object... args) {
+        if (!AsyncRedisReadRouter.isReadOnly(command)) {
+            return primary.runLongCommand(command, key, consumer, args);
+        }
+        AsyncRedisClientImpl node = router.select();
+        return router.track(node, node.runLongCommand(command, key, consumer, args));
+    }
+
+    public CompletableFuture<long[]> runLongArrayCommand(String command, String key, Object... args) {
+        if (!AsyncRedisReadRouter.isReadOnly(command)) {
+            return primary.runLongArrayCommand(command, key, args);
+        }
+        AsyncRedisClientImpl node = router.select();
+        return router.track(node, node.runLongArrayCommand(command, key, args));
+    }
+
+    public void runStreamCommand(String command, String key, JavaRedisDeserializer deserializer,
+                                 RedisStreamSubscriber subscriber, Object... args) {
+        AsyncRedisClientImpl node = AsyncRedisReadRouter.isReadOnly(command) ? router.select() : primary;
+        node.runStreamCommand(command, key, deserializer, subscriber, args);
+    }
+
+    public RedisQuery buildQuery() {
+        return primary.buildQuery();
+    }
+
+    public RedisScan buildScan(String command, String key) {
+        AsyncRedisClientImpl node = AsyncRedisReadRouter.isReadOnly(command) ? router.select() : primary;
+        return node.buildScan(command, key);
+    }
+
+    public RedisStatistics getStatistics() {
+        return new AsyncRedisCompositeStatistics(nodes);
+    }
+
+    public void shutdown() {
+        if (!started.compareAndSet(true, false)) {
+            return;
+        }
+        for (AsyncRedisClientImpl node : nodes) {
+            node.shutdown();
+        }
+        workerGroup.shutdownGracefully();
+    }
+
+    CompletableFuture<Void> start() {
+        started.compareAndSet(false, true);
+        for (int i = 1; i < nodes.size(); i++) {
+            nodes.get(i).start();
+        }
+        return primary.start();
+    }
+
+}
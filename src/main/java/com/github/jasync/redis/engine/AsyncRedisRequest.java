@@ -4,17 +4,19 @@ import com.github.jasync.redis.JavaRedisDeserializer;
 import com.github.jasync.redis.RedisQuery;
 import com.github.jasync.redis.JavaRedisSerializer;
 import com.github.jasync.redis.utils.RedisConverter;
-import io.netty.handler.codec.redis.RedisMessage;
+import com.github.jasync.redis.utils.RedisRequest;
 
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 
 public final class AsyncRedisRequest implements RedisQuery {
 
     private int countOfCommands = 0;
     private final Queue<AsyncRedisCommand> listOfCommands;
     private final AsyncRedisClientImpl client;
+    private long timeout = -1;
 
     AsyncRedisRequest(AsyncRedisClientImpl client) {
         this.client = client;
@@ -43,34 +45,48 @@ public final class AsyncRedisRequest implements RedisQuery {
 
     @Override
     public RedisQuery withScript(String script, JavaRedisSerializer serializer, Object... args) {
-        return add(RedisConverter.createRequest(script, null, serializer, args), null);
+        return add(client.getScripts().createCommand(script, serializer, null, args));
     }
 
     @Override
     public RedisQuery withScript(String script, JavaRedisDeserializer deserializer, Object... args) {
-        return add(RedisConverter.createRequest(script, null, null, args), deserializer);
+        return add(client.getScripts().createCommand(script, null, deserializer, args));
     }
 
     @Override
     public RedisQuery withScript(String script, JavaRedisSerializer serializer, JavaRedisDeserializer deserializer, Object... args) {
-        return add(RedisConverter.createRequest(script, null, serializer, args), deserializer);
+        return add(client.getScripts().createCommand(script, serializer, deserializer, args));
     }
 
     @Override
     public RedisQuery withScript(String script, Object... args) {
-        return add(RedisConverter.createRequest(script, null, null, args), null);
+        return add(client.getScripts().createCommand(script, null, null, args));
+    }
+
+    @Override
+    public RedisQuery withTimeout(long timeout, TimeUnit timeUnit) {
+        long millis = timeUnit.toMillis(timeout);
+        if (millis < 1) {
+            throw new IllegalStateException("The timeout can not be less then 1 millisecond");
+        }
+        this.timeout = millis;
+        return this;
     }
 
     @Override
     public CompletableFuture<RedisReport> proceed() {
         if (countOfCommands > 0) {
-            return client.runQuery(listOfCommands, countOfCommands == 1);
+            return client.runQuery(listOfCommands, countOfCommands == 1, timeout);
         }
         throw new IllegalStateException("The list of commands can not be empty");
     }
 
-    private RedisQuery add(RedisMessage newMessage, JavaRedisDeserializer deserializer) {
-        listOfCommands.add(new AsyncRedisCommand(newMessage, deserializer));
+    private RedisQuery add(RedisRequest newMessage, JavaRedisDeserializer deserializer) {
+        return add(new AsyncRedisCommand(newMessage, deserializer));
+    }
+
+    private RedisQuery add(AsyncRedisCommand command) {
+        listOfCommands.add(command);
         countOfCommands++;
         return this;
     }
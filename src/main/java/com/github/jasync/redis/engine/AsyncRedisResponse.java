@@ -3,6 +3,8 @@ package com.github.jasync.redis.engine;
 import com.github.jasync.redis.RedisReport;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public final class AsyncRedisResponse implements RedisReport {
 
@@ -36,4 +38,22 @@ public final class AsyncRedisResponse implements RedisReport {
         return List.class.isAssignableFrom(result.getClass()) ? (List<Object>) result : null;
     }
 
+    @SuppressWarnings("unchecked")
+    public Map<Object, Object> getMap() {
+        return result instanceof Map ? (Map<Object, Object>) result : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Set<Object> getSet() {
+        return result instanceof Set ? (Set<Object>) result : null;
+    }
+
+    public Double getDouble() {
+        return result instanceof Double ? (Double) result : null;
+    }
+
+    public Boolean getBoolean() {
+        return result instanceof Boolean ? (Boolean) result : null;
+    }
+
 }
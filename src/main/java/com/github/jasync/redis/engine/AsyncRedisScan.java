@@ -0,0 +1,311 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.JavaRedisBufferDeserializer;
+import com.github.jasync.redis.JavaRedisDeserializer;
+import com.github.jasync.redis.RedisReport;
+import com.github.jasync.redis.RedisScan;
+import com.github.jasync.redis.utils.RedisConverter;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.CharsetUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class AsyncRedisScan implements RedisScan {
+
+    private final Function<Queue<AsyncRedisCommand>, CompletableFuture<RedisReport>> runner;
+    private final String command;
+    private final String key;
+    private String pattern;
+    private int count;
+    private int prefetch;
+    private JavaRedisDeserializer deserializer;
+
+    AsyncRedisScan(Function<Queue<AsyncRedisCommand>, CompletableFuture<RedisReport>> runner, String command, String key) {
+        this.runner = runner;
+        this.command = command;
+        this.key = key;
+        this.prefetch = 1;
+    }
+
+    @Override
+    public RedisScan withMatch(String pattern) {
+        this.pattern = pattern;
+        return this;
+    }
+
+    @Override
+    public RedisScan withCount(int count) {
+        this.count = count;
+        return this;
+    }
+
+    @Override
+    public RedisScan withDeserializer(JavaRedisDeserializer deserializer) {
+        this.deserializer = deserializer;
+        return this;
+    }
+
+    @Override
+    public RedisScan withPrefetch(int pages) {
+        this.prefetch = Math.max(1, pages);
+        return this;
+    }
+
+    @Override
+    public CompletableFuture<Void> forEachPage(Consumer<List<Object>> consumer) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        walk(fetch(INITIAL_CURSOR), consumer, done);
+        return done;
+    }
+
+    @Override
+    public Stream<Object> stream() {
+        ScanIterator iterator = new ScanIterator();
+        iterator.start();
+        Spliterator<Object> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+    }
+
+    private void walk(CompletableFuture<ScanPage> page, Consumer<List<Object>> consumer, CompletableFuture<Void> done) {
+        while (page != null) {
+            if (!page.isDone()) {
+                CompletableFuture<ScanPage> pending = page;
+                pending.whenComplete((scanPage, error) -> walk(pending, consumer, done));
+                return;
+            }
+            ScanPage scanPage;
+            try {
+                scanPage = page.join();
+            } catch (Throwable ex) {
+                done.completeExceptionally(ex.getCause() == null ? ex : ex.getCause());
+                return;
+            }
+            page = scanPage.isLast() ? null : fetch(scanPage.cursor);
+            try {
+                consumer.accept(scanPage.elements);
+            } catch (Throwable ex) {
+                discard(page);
+                done.completeExceptionally(ex);
+                return;
+            }
+        }
+        done.complete(null);
+    }
+
+    private static void discard(CompletableFuture<ScanPage> page) {
+        if (page != null) {
+            page.thenAccept(scanPage -> RedisConverter.release(scanPage.elements));
+        }
+    }
+
+    private CompletableFuture<ScanPage> fetch(String cursor) {
+        List<Object> args = new ArrayList<>(5);
+        args.add(cursor);
+        if (pattern != null) {
+            args.add(MATCH);
+            args.add(pattern);
+        }
+        if (count > 0) {
+            args.add(COUNT);
+            args.add(count);
+        }
+        Queue<AsyncRedisCommand> commands = new LinkedList<>();
+        commands.add(new AsyncRedisCommand(
+                RedisConverter.createRequest(command, key, null, args.toArray()),
+                new CursorDeserializer(deserializer)
+        ));
+        return runner.apply(commands).thenApply(AsyncRedisScan::toPage);
+    }
+
+    private static ScanPage toPage(RedisReport report) {
+        List<Object> reply = report.getList();
+        if (reply == null || reply.size() != 2 || !(reply.get(0) instanceof String) || !(reply.get(1) instanceof List)) {
+            RedisConverter.release(report.getType());
+            throw new IllegalStateException("The scan reply is not a cursor page: " + report.getType());
+        }
+        @SuppressWarnings("unchecked")
+        List<Object> elements = (List<Object>) reply.get(1);
+        return new ScanPage((String) reply.get(0), elements);
+    }
+
+    private static final class ScanPage {
+
+        private final String cursor;
+        private final List<Object> elements;
+
+        private ScanPage(String cursor, List<Object> elements) {
+            this.cursor = cursor;
+            this.elements = elements;
+        }
+
+        private boolean isLast() {
+            return INITIAL_CURSOR.equals(cursor);
+        }
+
+    }
+
+    private static final class CursorDeserializer implements JavaRedisBufferDeserializer {
+
+        private final JavaRedisDeserializer deserializer;
+        private boolean cursorRead;
+
+        private CursorDeserializer(JavaRedisDeserializer deserializer) {
+            this.deserializer = deserializer;
+        }
+
+        @Override
+        public Object deserialize(ByteBuf buffer) {
+            if (!cursorRead) {
+                cursorRead = true;
+                return buffer.toString(CharsetUtil.UTF_8);
+            }
+            if (deserializer == null) {
+                return buffer.toString(CharsetUtil.UTF_8);
+            }
+            if (deserializer instanceof JavaRedisBufferDeserializer) {
+                return ((JavaRedisBufferDeserializer) deserializer).deserialize(buffer);
+            }
+            byte[] bytes = new byte[buffer.readableBytes()];
+            buffer.getBytes(buffer.readerIndex(), bytes);
+            return deserializer.deserialize(bytes);
+        }
+
+    }
+
+    private final class ScanIterator implements Iterator<Object> {
+
+        private final LinkedBlockingQueue<Object> pages;
+        private Iterator<Object> current;
+        private int buffered;
+        private String pausedCursor;
+        private boolean closed;
+
+        private ScanIterator() {
+            this.pages = new LinkedBlockingQueue<>();
+            this.current = Collections.emptyIterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                Object page = takePage();
+                if (page == END) {
+                    pages.offer(END);
+                    return false;
+                }
+                if (page instanceof Throwable) {
+                    pages.offer(page);
+                    throw new IllegalStateException("The scan has failed", (Throwable) page);
+                }
+                @SuppressWarnings("unchecked")
+                List<Object> elements = (List<Object>) page;
+                current = elements.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        private void start() {
+            request(INITIAL_CURSOR);
+        }
+
+        private void close() {
+            synchronized (this) {
+                closed = true;
+                pausedCursor = null;
+                for (Object page = pages.poll(); page != null; page = pages.poll()) {
+                    if (page instanceof List) {
+                        RedisConverter.release(page);
+                    }
+                }
+                while (current.hasNext()) {
+                    RedisConverter.release(current.next());
+                }
+            }
+            pages.offer(END);
+        }
+
+        private Object takePage() {
+            Object page;
+            try {
+                page = pages.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("The scan has been interrupted", ex);
+            }
+            String cursor = null;
+            synchronized (this) {
+                if (page instanceof List) {
+                    buffered--;
+                }
+                if (pausedCursor != null && buffered < prefetch) {
+                    cursor = pausedCursor;
+                    pausedCursor = null;
+                }
+            }
+            if (cursor != null) {
+                request(cursor);
+            }
+            return page;
+        }
+
+        private void request(String cursor) {
+            fetch(cursor).whenComplete((page, error) -> {
+                if (error != null) {
+                    pages.offer(error.getCause() == null ? error : error.getCause());
+                    return;
+                }
+                String next = null;
+                synchronized (this) {
+                    if (closed) {
+                        RedisConverter.release(page.elements);
+                        return;
+                    }
+                    buffered++;
+                    if (!page.isLast()) {
+                        if (buffered < prefetch) {
+                            next = page.cursor;
+                        } else {
+                            pausedCursor = page.cursor;
+                        }
+                    }
+                    pages.offer(page.elements);
+                    if (page.isLast()) {
+                        pages.offer(END);
+                    }
+                }
+                if (next != null) {
+                    request(next);
+                }
+            });
+        }
+
+    }
+
+    private static final String INITIAL_CURSOR = "0";
+    private static final String MATCH = "match";
+    private static final String COUNT = "count";
+    private static final Object END = new Object();
+
+}
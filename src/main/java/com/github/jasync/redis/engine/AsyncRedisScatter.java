@@ -0,0 +1,187 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.RedisReport;
+import com.github.jasync.redis.utils.RedisConverter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+final class AsyncRedisScatter {
+
+    private final String command;
+    private final Merge merge;
+    private final int keys;
+    private final List<Part> parts;
+
+    private AsyncRedisScatter(String command, Merge merge, int keys, List<Part> parts) {
+        this.command = command;
+        this.merge = merge;
+        this.keys = keys;
+        this.parts = parts;
+    }
+
+    static AsyncRedisScatter split(String command, String key, Object[] args, ToIntFunction<Object> partitioner) {
+        if (key == null || args == null || args.length == 0) {
+            return null;
+        }
+        Merge merge = MERGES.get(command.toLowerCase());
+        if (merge == null) {
+            return null;
+        }
+        int step = merge == Merge.STATUS ? 2 : 1;
+        if (step == 2 && args.length % 2 == 0) {
+            return null;
+        }
+        Map<Integer, Part> partitions = new LinkedHashMap<>();
+        int keys = 0;
+        for (int i = -1; i < args.length; i += step) {
+            Object current = i < 0 ? key : args[i];
+            Part part = partitions.computeIfAbsent(partitioner.applyAsInt(current), partition -> new Part(command, partition));
+            part.add(keys++, current);
+            if (step == 2) {
+                part.arguments.add(args[i + 1]);
+            }
+        }
+        if (partitions.size() < 2) {
+            return null;
+        }
+        return new AsyncRedisScatter(command, merge, keys, new ArrayList<>(partitions.values()));
+    }
+
+    CompletableFuture<RedisReport> gather(Function<Part, CompletableFuture<RedisReport>> runner, long timeout) {
+        CompletableFuture<RedisReport> result = new CompletableFuture<>();
+        Object[] replies = new Object[parts.size()];
+        AtomicInteger remaining = new AtomicInteger(parts.size());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int i = 0; i < parts.size(); i++) {
+            int index = i;
+            CompletableFuture<RedisReport> future;
+            try {
+                future = runner.apply(parts.get(i));
+            } catch (RuntimeException ex) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(ex);
+            }
+            AsyncRedisDeadlines.cascade(result, future);
+            future.whenComplete((report, error) -> {
+                if (error != null) {
+                    failure.compareAndSet(null, error);
+                } else {
+                    replies[index] = report.getType();
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    complete(result, replies, failure.get());
+                }
+            });
+        }
+        return AsyncRedisDeadlines.schedule(result, timeout);
+    }
+
+    private void complete(CompletableFuture<RedisReport> result, Object[] replies, Throwable failure) {
+        if (failure != null) {
+            RedisConverter.release(Arrays.asList(replies));
+            result.completeExceptionally(failure);
+            return;
+        }
+        Object reply;
+        try {
+            reply = merge(replies);
+        } catch (RuntimeException ex) {
+            RedisConverter.release(Arrays.asList(replies));
+            result.completeExceptionally(ex);
+            return;
+        }
+        if (!result.complete(new AsyncRedisResponse(reply))) {
+            RedisConverter.release(reply);
+        }
+    }
+
+    private Object merge(Object[] replies) {
+        switch (merge) {
+            case VALUES:
+                Object[] values = new Object[keys];
+                for (int i = 0; i < replies.length; i++) {
+                    Part part = parts.get(i);
+                    if (!(replies[i] instanceof List) || ((List<?>) replies[i]).size() != part.positions.size()) {
+                        throw new IllegalStateException("The reply of " + command + " is not a list of " + part.positions.size() + " values");
+                    }
+                    List<?> list = (List<?>) replies[i];
+                    for (int j = 0; j < list.size(); j++) {
+                        values[part.positions.get(j)] = list.get(j);
+                    }
+                }
+                return new ArrayList<>(Arrays.asList(values));
+            case COUNT:
+                long count = 0;
+                for (Object reply : replies) {
+                    if (!(reply instanceof Long)) {
+                        throw new IllegalStateException("The reply of " + command + " is not a number: " + reply);
+                    }
+                    count += (Long) reply;
+                }
+                return count;
+            default:
+                for (Object reply : replies) {
+                    if (!OK.equals(reply)) {
+                        throw new IllegalStateException("The reply of " + command + " is not OK: " + reply);
+                    }
+                }
+                return OK;
+        }
+    }
+
+    static final class Part {
+
+        private final String command;
+        private final int partition;
+        private final List<Integer> positions;
+        private final List<Object> arguments;
+
+        private Part(String command, int partition) {
+            this.command = command;
+            this.partition = partition;
+            this.positions = new ArrayList<>();
+            this.arguments = new ArrayList<>();
+        }
+
+        private void add(int position, Object key) {
+            positions.add(position);
+            arguments.add(key);
+        }
+
+        int getPartition() {
+            return partition;
+        }
+
+        Queue<AsyncRedisCommand> createCommands() {
+            return AsyncRedisClientImpl.createCommands(command, null, null, arguments.toArray());
+        }
+
+    }
+
+    private enum Merge {
+        VALUES, COUNT, STATUS
+    }
+
+    private static final String OK = "OK";
+    private static final Map<String, Merge> MERGES = new LinkedHashMap<>();
+
+    static {
+        MERGES.put("mget", Merge.VALUES);
+        MERGES.put("mset", Merge.STATUS);
+        MERGES.put("del", Merge.COUNT);
+        MERGES.put("unlink", Merge.COUNT);
+        MERGES.put("exists", Merge.COUNT);
+        MERGES.put("touch", Merge.COUNT);
+    }
+
+}
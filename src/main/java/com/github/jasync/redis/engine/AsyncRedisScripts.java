@@ -0,0 +1,52 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.JavaRedisDeserializer;
+import com.github.jasync.redis.JavaRedisSerializer;
+import com.github.jasync.redis.utils.RedisConverter;
+import com.github.jasync.redis.utils.RedisRequest;
+import io.netty.util.CharsetUtil;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class AsyncRedisScripts {
+
+    private final ConcurrentHashMap<String, String> digests;
+
+    AsyncRedisScripts() {
+        this.digests = new ConcurrentHashMap<>();
+    }
+
+    AsyncRedisCommand createCommand(String script, JavaRedisSerializer serializer, JavaRedisDeserializer deserializer, Object... args) {
+        String digest = digests.get(script);
+        if (digest == null) {
+            if (digests.size() >= MAX_SCRIPTS) {
+                digests.clear();
+            }
+            digest = digests.computeIfAbsent(script, AsyncRedisScripts::sha1);
+        }
+        RedisRequest request = RedisConverter.createRequest(EVALSHA, digest, serializer, args);
+        return new AsyncRedisCommand(request, deserializer, script);
+    }
+
+    private static String sha1(String script) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1").digest(script.getBytes(CharsetUtil.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("The SHA-1 algorithm is not available", ex);
+        }
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX[digest[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    static final int MAX_SCRIPTS = 1024;
+    private static final String EVALSHA = "evalsha";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+}
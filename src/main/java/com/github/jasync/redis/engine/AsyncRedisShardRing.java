@@ -0,0 +1,96 @@
+package com.github.jasync.redis.engine;
+
+import io.netty.util.CharsetUtil;
+import io.netty.util.concurrent.FastThreadLocal;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+final class AsyncRedisShardRing {
+
+    private final AsyncRedisClientImpl[] nodes;
+    private final long[] points;
+    private final int[] owners;
+
+    AsyncRedisShardRing(Map<String, Integer> weights, Map<String, AsyncRedisClientImpl> clients) {
+        List<AsyncRedisClientImpl> nodeList = new ArrayList<>(weights.size());
+        long totalWeight = 0;
+        for (int weight : weights.values()) {
+            totalWeight += weight;
+        }
+        List<long[]> ring = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            int owner = nodeList.size();
+            nodeList.add(clients.get(entry.getKey()));
+            int replicas = (int) Math.floor((double) entry.getValue() / totalWeight * POINTS_PER_HASH * weights.size());
+            for (int i = 0; i < Math.max(replicas, 1); i++) {
+                byte[] digest = md5((entry.getKey() + '-' + i).getBytes(CharsetUtil.UTF_8));
+                for (int h = 0; h < 4; h++) {
+                    ring.add(new long[]{getPoint(digest, h), owner});
+                }
+            }
+        }
+        ring.sort((left, right) -> Long.compare(left[0], right[0]));
+        this.nodes = nodeList.toArray(new AsyncRedisClientImpl[0]);
+        this.points = new long[ring.size()];
+        this.owners = new int[ring.size()];
+        for (int i = 0; i < ring.size(); i++) {
+            points[i] = ring.get(i)[0];
+            owners[i] = (int) ring.get(i)[1];
+        }
+    }
+
+    int getIndex(Object key) {
+        if (points.length == 0) {
+            throw new IllegalStateException("The shard ring can not be empty");
+        }
+        byte[] bytes = key instanceof byte[] ? (byte[]) key : String.valueOf(key).getBytes(CharsetUtil.UTF_8);
+        int position = Arrays.binarySearch(points, getPoint(md5(bytes), 0));
+        if (position < 0) {
+            position = -position - 1;
+        }
+        return owners[position == points.length ? 0 : position];
+    }
+
+    AsyncRedisClientImpl getNode(int index) {
+        return nodes[index];
+    }
+
+    AsyncRedisClientImpl getNode(Object key) {
+        return nodes[getIndex(key)];
+    }
+
+    List<AsyncRedisClientImpl> getNodes() {
+        return Arrays.asList(nodes);
+    }
+
+    private static long getPoint(byte[] digest, int h) {
+        return ((long) (digest[3 + h * 4] & 0xFF) << 24)
+                | ((long) (digest[2 + h * 4] & 0xFF) << 16)
+                | ((long) (digest[1 + h * 4] & 0xFF) << 8)
+                | (digest[h * 4] & 0xFF);
+    }
+
+    private static byte[] md5(byte[] bytes) {
+        MessageDigest digest = MD5.get();
+        digest.reset();
+        return digest.digest(bytes);
+    }
+
+    private static final int POINTS_PER_HASH = 40;
+    private static final FastThreadLocal<MessageDigest> MD5 = new FastThreadLocal<MessageDigest>() {
+        @Override
+        protected MessageDigest initialValue() {
+            try {
+                return MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("The MD5 algorithm is not available", ex);
+            }
+        }
+    };
+
+}
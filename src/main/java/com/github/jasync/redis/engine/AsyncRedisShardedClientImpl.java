@@ -0,0 +1,176 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.AsyncRedisClient;
+import com.github.jasync.redis.JavaRedisDeserializer;
+import com.github.jasync.redis.RedisQuery;
+import com.github.jasync.redis.RedisReport;
+import com.github.jasync.redis.RedisScan;
+import com.github.jasync.redis.RedisStatistics;
+import com.github.jasync.redis.RedisStreamSubscriber;
+import io.netty.channel.EventLoopGroup;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+public class AsyncRedisShardedClientImpl implements AsyncRedisClient {
+
+    private final AtomicBoolean started;
+    private final Function<String, AsyncRedisClientImpl> nodeFactory;
+    private final Map<String, Integer> weights;
+    private final Map<String, AsyncRedisClientImpl> nodes;
+    private final EventLoopGroup workerGroup;
+    private final long commandTimeout;
+    private volatile AsyncRedisShardRing ring;
+
+    AsyncRedisShardedClientImpl(Map<String, Integer> shards, Function<String, AsyncRedisClientImpl> nodeFactory,
+                                EventLoopGroup workerGroup, long commandTimeout) {
+        this.started = new AtomicBoolean(false);
+        this.nodeFactory = nodeFactory;
+        this.weights = new LinkedHashMap<>(shards);
+        this.nodes = new LinkedHashMap<>();
+        for (String shard : shards.keySet()) {
+            nodes.put(shard, nodeFactory.apply(shard));
+        }
+        this.workerGroup = workerGroup;
+        this.commandTimeout = commandTimeout;
+        this.ring = new AsyncRedisShardRing(weights, nodes);
+    }
+
+    public CompletableFuture<RedisReport> runCommand(String command, String key, Object... args) {
+        AsyncRedisShardRing current = ring;
+        AsyncRedisScatter scatter = AsyncRedisScatter.split(command, key, args, current::getIndex);
+        if (scatter != null) {
+            return scatter.gather(part -> current.getNode(part.getPartition()).runQuery(part.createCommands(), true), commandTimeout);
+        }
+        return getNode(current, key).runCommand(command, key, args);
+    }
+
+    public CompletableFuture<RedisReport> runScript(String script, Object... args) {
+        return getNode(ring, getScriptKey(args)).runScript(script, args);
+    }
+
+    public CompletableFuture<Void> runLongCommand(String command, String key, LongConsumer consumer, Object... args) {
+        return getNode(ring, key).runLongCommand(command, key, consumer, args);
+    }
+
+    public CompletableFuture<long[]> runLongArrayCommand(String command, String key, Object... args) {
+        return getNode(ring, key).runLongArrayCommand(command, key, args);
+    }
+
+    public void runStreamCommand(String command, String key, JavaRedisDeserializer deserializer,
+                                 RedisStreamSubscriber subscriber, Object... args) {
+        getNode(ring, key).runStreamCommand(command, key, deserializer, subscriber, args);
+    }
+
+    public RedisQuery buildQuery() {
+        return new AsyncRedisShardedRequest(ring, commandTimeout);
+    }
+
+    public RedisScan buildScan(String command, String key) {
+        AsyncRedisShardRing current = ring;
+        if (key == null) {
+            return new AsyncRedisNodesScan(current.getNodes(), command);
+        }
+        return current.getNode(key).buildScan(command, key);
+    }
+
+    public RedisStatistics getStatistics() {
+        return new AsyncRedisCompositeStatistics(ring.getNodes());
+    }
+
+    public void shutdown() {
+        if (!started.compareAndSet(true, false)) {
+            return;
+        }
+        synchronized (this) {
+            for (AsyncRedisClientImpl node : nodes.values()) {
+                node.shutdown();
+            }
+        }
+        workerGroup.shutdownGracefully();
+    }
+
+    public synchronized CompletableFuture<Void> addShard(String shard, int weight) {
+        if (!started.get()) {
+            throw new IllegalStateException("The client has been stopped");
+        }
+        if (weight < 1) {
+            throw new IllegalStateException("The shard weight can not be less then 1");
+        }
+        AsyncRedisBuilder.validateNodes(Collections.singletonList(shard), "shard");
+        if (nodes.containsKey(shard)) {
+            if (weights.containsKey(shard)) {
+                weights.put(shard, weight);
+                ring = new AsyncRedisShardRing(weights, nodes);
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+        AsyncRedisClientImpl node = nodeFactory.apply(shard);
+        nodes.put(shard, node);
+        return node.start().whenComplete((ignore, error) -> join(shard, weight, node, error));
+    }
+
+    public synchronized void removeShard(String shard) {
+        if (!nodes.containsKey(shard)) {
+            return;
+        }
+        if (weights.size() == 1 && weights.containsKey(shard)) {
+            throw new IllegalStateException("The last shard can not be removed");
+        }
+        if (weights.remove(shard) != null) {
+            ring = new AsyncRedisShardRing(weights, nodes);
+        }
+        nodes.remove(shard).shutdown();
+    }
+
+    CompletableFuture<Void> start() {
+        started.compareAndSet(false, true);
+        CompletableFuture<?>[] futures;
+        synchronized (this) {
+            futures = new CompletableFuture<?>[nodes.size()];
+            int index = 0;
+            for (AsyncRedisClientImpl node : nodes.values()) {
+                futures[index++] = node.start();
+            }
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    private synchronized void join(String shard, int weight, AsyncRedisClientImpl node, Throwable error) {
+        if (nodes.get(shard) != node) {
+            return;
+        }
+        if (error != null) {
+            nodes.remove(shard);
+            node.shutdown();
+            return;
+        }
+        weights.put(shard, weight);
+        ring = new AsyncRedisShardRing(weights, nodes);
+    }
+
+    static AsyncRedisClientImpl getNode(AsyncRedisShardRing ring, Object key) {
+        if (key == null) {
+            return ring.getNode(ThreadLocalRandom.current().nextInt(ring.getNodes().size()));
+        }
+        return ring.getNode(key);
+    }
+
+    static Object getScriptKey(Object... args) {
+        if (args == null || args.length < 2) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(String.valueOf(args[0])) < 1 ? null : args[1];
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.JavaRedisDeserializer;
+import com.github.jasync.redis.JavaRedisSerializer;
+import com.github.jasync.redis.RedisQuery;
+import com.github.jasync.redis.RedisReport;
+import com.github.jasync.redis.utils.RedisConverter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class AsyncRedisShardedRequest implements RedisQuery {
+
+    private final AsyncRedisShardRing ring;
+    private final Map<AsyncRedisClientImpl, Batch> batches;
+    private final long commandTimeout;
+    private int countOfCommands = 0;
+    private long timeout = -1;
+
+    AsyncRedisShardedRequest(AsyncRedisShardRing ring, long commandTimeout) {
+        this.ring = ring;
+        this.commandTimeout = commandTimeout;
+        this.batches = new LinkedHashMap<>();
+    }
+
+    @Override
+    public RedisQuery withQuery(String command, String key, Object... args) {
+        return withQuery(command, key, null, null, args);
+    }
+
+    @Override
+    public RedisQuery withQuery(String command, String key, JavaRedisSerializer serializer, Object... args) {
+        return withQuery(command, key, serializer, null, args);
+    }
+
+    @Override
+    public RedisQuery withQuery(String command, String key, JavaRedisDeserializer deserializer, Object... args) {
+        return withQuery(command, key, null, deserializer, args);
+    }
+
+    @Override
+    public RedisQuery withQuery(String command, String key, JavaRedisSerializer serializer, JavaRedisDeserializer deserializer, Object... args) {
+        return add(getNode(key), new AsyncRedisCommand(RedisConverter.createRequest(command, key, serializer, args), deserializer));
+    }
+
+    @Override
+    public RedisQuery withScript(String script, Object... args) {
+        return withScript(script, null, null, args);
+    }
+
+    @Override
+    public RedisQuery withScript(String script, JavaRedisSerializer serializer, Object... args) {
+        return withScript(script, serializer, null, args);
+    }
+
+    @Override
+    public RedisQuery withScript(String script, JavaRedisDeserializer deserializer, Object... args) {
+        return withScript(script, null, deserializer, args);
+    }
+
+    @Override
+    public RedisQuery withScript(String script, JavaRedisSerializer serializer, JavaRedisDeserializer deserializer, Object... args) {
+        AsyncRedisClientImpl node = getNode(AsyncRedisShardedClientImpl.getScriptKey(args));
+        return add(node, node.getScripts().createCommand(script, serializer, deserializer, args));
+    }
+
+    @Override
+    public RedisQuery withTimeout(long timeout, TimeUnit timeUnit) {
+        long millis = timeUnit.toMillis(timeout);
+        if (millis < 1) {
+            throw new IllegalStateException("The timeout can not be less then 1 millisecond");
+        }
+        this.timeout = millis;
+        return this;
+    }
+
+    @Override
+    public CompletableFuture<RedisReport> proceed() {
+        if (countOfCommands == 0) {
+            throw new IllegalStateException("The list of commands can not be empty");
+        }
+        if (batches.size() == 1) {
+            Map.Entry<AsyncRedisClientImpl, Batch> entry = batches.entrySet().iterator().next();
+            return entry.getKey().runQuery(entry.getValue().commands, countOfCommands == 1, timeout);
+        }
+        CompletableFuture<RedisReport> result = new CompletableFuture<>();
+        Object[] replies = new Object[countOfCommands];
+        AtomicInteger remaining = new AtomicInteger(batches.size());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (Map.Entry<AsyncRedisClientImpl, Batch> entry : batches.entrySet()) {
+            Batch batch = entry.getValue();
+            CompletableFuture<RedisReport> future;
+            try {
+                future = entry.getKey().runQuery(batch.commands, false, timeout);
+            } catch (RuntimeException ex) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(ex);
+            }
+            AsyncRedisDeadlines.cascade(result, future);
+            future.whenComplete((report, error) -> {
+                if (error != null) {
+                    failure.compareAndSet(null, error);
+                } else {
+                    List<?> list = (List<?>) report.getType();
+                    for (int i = 0; i < list.size(); i++) {
+                        replies[batch.positions.get(i)] = list.get(i);
+                    }
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    complete(result, replies, failure.get());
+                }
+            });
+        }
+        return AsyncRedisDeadlines.schedule(result, timeout < 0 ? commandTimeout : timeout);
+    }
+
+    private void complete(CompletableFuture<RedisReport> result, Object[] replies, Throwable failure) {
+        if (failure != null) {
+            RedisConverter.release(Arrays.asList(replies));
+            result.completeExceptionally(failure);
+            return;
+        }
+        if (!result.complete(new AsyncRedisResponse(new ArrayList<>(Arrays.asList(replies))))) {
+            RedisConverter.release(Arrays.asList(replies));
+        }
+    }
+
+    private AsyncRedisClientImpl getNode(Object key) {
+        if (key == null && !batches.isEmpty()) {
+            return batches.keySet().iterator().next();
+        }
+        return AsyncRedisShardedClientImpl.getNode(ring, key);
+    }
+
+    private RedisQuery add(AsyncRedisClientImpl node, AsyncRedisCommand command) {
+        batches.computeIfAbsent(node, ignore -> new Batch()).add(countOfCommands++, command);
+        return this;
+    }
+
+    private static final class Batch {
+
+        private final Queue<AsyncRedisCommand> commands = new LinkedList<>();
+        private final List<Integer> positions = new ArrayList<>();
+
+        private void add(int position, AsyncRedisCommand command) {
+            commands.add(command);
+            positions.add(position);
+        }
+
+    }
+
+}
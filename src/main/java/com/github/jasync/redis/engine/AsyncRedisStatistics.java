@@ -0,0 +1,178 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.RedisHistogram;
+import com.github.jasync.redis.RedisStatistics;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ToLongFunction;
+
+public class AsyncRedisStatistics implements RedisStatistics, AsyncRedisStatisticsMXBean {
+
+    private final AtomicLongArray flushBatchSizes;
+    private final AsyncRedisChannelPool pool;
+    private ObjectName objectName;
+
+    AsyncRedisStatistics(AsyncRedisChannelPool pool) {
+        this.flushBatchSizes = new AtomicLongArray(Integer.SIZE);
+        this.pool = pool;
+    }
+
+    void recordFlush(int commands) {
+        if (commands > 0) {
+            flushBatchSizes.incrementAndGet(Integer.SIZE - 1 - Integer.numberOfLeadingZeros(commands));
+        }
+    }
+
+    @Override
+    public long getFlushes() {
+        long flushes = 0;
+        for (int i = 0; i < flushBatchSizes.length(); i++) {
+            flushes += flushBatchSizes.get(i);
+        }
+        return flushes;
+    }
+
+    @Override
+    public SortedMap<Integer, Long> getFlushBatchSizes() {
+        SortedMap<Integer, Long> batchSizes = new TreeMap<>();
+        for (int i = 0; i < flushBatchSizes.length(); i++) {
+            long count = flushBatchSizes.get(i);
+            if (count > 0) {
+                batchSizes.put(1 << i, count);
+            }
+        }
+        return batchSizes;
+    }
+
+    @Override
+    public long getNearCacheHits() {
+        return pool.getNearCache() == null ? 0 : pool.getNearCache().getHits();
+    }
+
+    @Override
+    public long getNearCacheMisses() {
+        return pool.getNearCache() == null ? 0 : pool.getNearCache().getMisses();
+    }
+
+    @Override
+    public long getNearCacheEvictions() {
+        return pool.getNearCache() == null ? 0 : pool.getNearCache().getEvictions();
+    }
+
+    @Override
+    public long getNearCacheInvalidations() {
+        return pool.getNearCache() == null ? 0 : pool.getNearCache().getInvalidations();
+    }
+
+    @Override
+    public int getPendingCommands() {
+        return pool.getAdmission().getPendingCommands();
+    }
+
+    @Override
+    public long getRejectedCommands() {
+        return pool.getAdmission().getRejectedCommands();
+    }
+
+    @Override
+    public int getConcurrencyLimit() {
+        return pool.getAdmission().getLimit();
+    }
+
+    @Override
+    public int getChannels() {
+        return pool.getChannels();
+    }
+
+    @Override
+    public int getIdleChannels() {
+        return pool.getIdleChannels();
+    }
+
+    @Override
+    public long getReconnects() {
+        return pool.getReconnects();
+    }
+
+    @Override
+    public long getTopologyRefreshFailures() {
+        return 0;
+    }
+
+    @Override
+    public SortedMap<String, RedisHistogram> getQueueTimes() {
+        AsyncRedisMetrics metrics = pool.getMetrics();
+        return metrics == null ? new TreeMap<>() : metrics.getQueueTimes();
+    }
+
+    @Override
+    public SortedMap<String, RedisHistogram> getWireTimes() {
+        AsyncRedisMetrics metrics = pool.getMetrics();
+        return metrics == null ? new TreeMap<>() : metrics.getWireTimes();
+    }
+
+    @Override
+    public Map<String, Long> getCommandCounts() {
+        return summarize(getWireTimes(), RedisHistogram::getCount);
+    }
+
+    @Override
+    public Map<String, Long> getQueueTimes99() {
+        return summarize(getQueueTimes(), histogram -> histogram.getValueAtPercentile(99));
+    }
+
+    @Override
+    public Map<String, Long> getWireTimes50() {
+        return summarize(getWireTimes(), histogram -> histogram.getValueAtPercentile(50));
+    }
+
+    @Override
+    public Map<String, Long> getWireTimes99() {
+        return summarize(getWireTimes(), histogram -> histogram.getValueAtPercentile(99));
+    }
+
+    synchronized void register() {
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":type=" + TYPE + ",node=" + ObjectName.quote(pool.getHost() + ':' + pool.getPort())
+                    + ",id=" + IDS.incrementAndGet());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = name;
+        } catch (JMException ex) {
+            LOGGER.warn("The statistics can not be registered", ex);
+        }
+    }
+
+    synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException ex) {
+            LOGGER.warn("The statistics can not be unregistered", ex);
+        }
+        objectName = null;
+    }
+
+    private static Map<String, Long> summarize(SortedMap<String, RedisHistogram> histograms, ToLongFunction<RedisHistogram> value) {
+        SortedMap<String, Long> summary = new TreeMap<>();
+        histograms.forEach((command, histogram) -> summary.put(command, value.applyAsLong(histogram)));
+        return Collections.unmodifiableSortedMap(summary);
+    }
+
+    private static final String DOMAIN = "com.github.jasync.redis";
+    private static final String TYPE = "AsyncRedisStatistics";
+    private static final AtomicInteger IDS = new AtomicInteger(0);
+    private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(AsyncRedisStatistics.class);
+
+}
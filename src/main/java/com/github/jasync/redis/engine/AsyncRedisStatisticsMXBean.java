@@ -0,0 +1,33 @@
+package com.github.jasync.redis.engine;
+
+import java.util.Map;
+
+public interface AsyncRedisStatisticsMXBean {
+
+    long getFlushes();
+
+    int getChannels();
+
+    int getIdleChannels();
+
+    int getPendingCommands();
+
+    long getRejectedCommands();
+
+    int getConcurrencyLimit();
+
+    long getReconnects();
+
+    long getNearCacheHits();
+
+    long getNearCacheMisses();
+
+    Map<String, Long> getCommandCounts();
+
+    Map<String, Long> getQueueTimes99();
+
+    Map<String, Long> getWireTimes50();
+
+    Map<String, Long> getWireTimes99();
+
+}
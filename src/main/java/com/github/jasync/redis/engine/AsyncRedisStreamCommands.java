@@ -0,0 +1,118 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.RedisStreamSubscriber;
+import com.github.jasync.redis.RedisStreamSubscription;
+import com.github.jasync.redis.utils.RedisConverter;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class AsyncRedisStreamCommands extends AsyncRedisCommands implements RedisStreamSubscription {
+
+    private final RedisStreamSubscriber subscriber;
+    private final AtomicLong requested;
+    private final AtomicBoolean done;
+    private volatile boolean cancelled;
+    private volatile Runnable resumer;
+
+    AsyncRedisStreamCommands(Queue<AsyncRedisCommand> commands, RedisStreamSubscriber subscriber) {
+        super(commands, true, null);
+        this.subscriber = subscriber;
+        this.requested = new AtomicLong(0);
+        this.done = new AtomicBoolean(false);
+    }
+
+    @Override
+    public void request(long elements) {
+        if (elements < 1) {
+            fail(new IllegalArgumentException("The number of requested elements can not be less then 1"));
+            cancel();
+            return;
+        }
+        long current, next;
+        do {
+            current = requested.get();
+            next = current + elements < 0 ? Long.MAX_VALUE : current + elements;
+        } while (!requested.compareAndSet(current, next));
+        resume();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        resume();
+    }
+
+    @Override
+    boolean isStreamReply() {
+        return true;
+    }
+
+    @Override
+    boolean addResult(AsyncRedisCommand command, Object result) {
+        if (result != null) {
+            RedisConverter.release(result);
+            return addError(new RuntimeException("The reply is not a list: " + result));
+        }
+        return countReply();
+    }
+
+    @Override
+    boolean addLong(AsyncRedisCommand command, long value) {
+        return addError(new RuntimeException("The reply is not a list: " + value));
+    }
+
+    void addElement(Object element) {
+        if (cancelled || done.get()) {
+            RedisConverter.release(element);
+            return;
+        }
+        requested.decrementAndGet();
+        try {
+            subscriber.onNext(element);
+        } catch (Throwable ex) {
+            fail(ex);
+        }
+    }
+
+    @Override
+    boolean isDone() {
+        return cancelled || done.get();
+    }
+
+    boolean hasDemand() {
+        return cancelled || done.get() || requested.get() > 0;
+    }
+
+    void setResumer(Runnable resumer) {
+        this.resumer = resumer;
+    }
+
+    @Override
+    void complete() {
+        if (getError() != null) {
+            fail(getError());
+            return;
+        }
+        if (done.compareAndSet(false, true) && !cancelled) {
+            subscriber.onComplete();
+        }
+    }
+
+    @Override
+    void fail(Throwable cause) {
+        if (done.compareAndSet(false, true) && !cancelled) {
+            subscriber.onError(cause);
+        }
+        resume();
+    }
+
+    private void resume() {
+        Runnable resumer = this.resumer;
+        if (resumer != null) {
+            resumer.run();
+        }
+    }
+
+}
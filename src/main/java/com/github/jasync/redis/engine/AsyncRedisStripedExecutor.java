@@ -0,0 +1,83 @@
+package com.github.jasync.redis.engine;
+
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+final class AsyncRedisStripedExecutor {
+
+    private final Executor executor;
+    private final Stripe[] stripes;
+
+    AsyncRedisStripedExecutor(Executor executor, int stripes) {
+        this.executor = executor;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    void execute(Object key, Runnable task) {
+        stripes[(key.hashCode() & Integer.MAX_VALUE) % stripes.length].add(task);
+    }
+
+    private final class Stripe implements Runnable {
+
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        private void add(Runnable task) {
+            tasks.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+            while (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                    return;
+                } catch (RejectedExecutionException ex) {
+                    LOGGER.warn("The message executor has rejected a stripe, running it on the calling thread", ex);
+                    runTasks();
+                    scheduled.set(false);
+                    if (tasks.isEmpty()) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            runTasks();
+            scheduled.set(false);
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void runTasks() {
+            for (int i = 0; i < MAX_TASKS_PER_RUN; i++) {
+                Runnable task = tasks.poll();
+                if (task == null) {
+                    break;
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException ex) {
+                    LOGGER.warn("The message listener has failed", ex);
+                }
+            }
+        }
+
+    }
+
+    private static final int MAX_TASKS_PER_RUN = 256;
+    private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(AsyncRedisStripedExecutor.class);
+
+}
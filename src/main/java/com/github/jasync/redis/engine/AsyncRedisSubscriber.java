@@ -0,0 +1,174 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.RedisMessageListener;
+import com.github.jasync.redis.RedisSubscriber;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+
+public class AsyncRedisSubscriber implements RedisSubscriber {
+
+    private final AtomicBoolean started;
+    private final String host;
+    private final int port;
+    private final int batchSize;
+    private final long minReconnectDelay;
+    private final long maxReconnectDelay;
+    private final EventLoopGroup workerGroup;
+    private final ExecutorService ownedExecutor;
+    private final AsyncRedisStripedExecutor dispatcher;
+    private final AsyncRedisSubscription[] subscriptions;
+    private final ConcurrentHashMap<String, RedisMessageListener> channelListeners;
+    private final ConcurrentHashMap<String, RedisMessageListener> patternListeners;
+
+    AsyncRedisSubscriber(String host, int port, int connections, int batchSize, long minReconnectDelay,
+                         long maxReconnectDelay, Executor executor, int stripes) {
+        this.started = new AtomicBoolean(false);
+        this.host = host;
+        this.port = port;
+        this.batchSize = batchSize;
+        this.minReconnectDelay = minReconnectDelay;
+        this.maxReconnectDelay = maxReconnectDelay;
+        this.workerGroup = AsyncRedisChannelPool.createLoopGroup(connections);
+        this.ownedExecutor = executor == null ? Executors.newFixedThreadPool(Math.min(stripes, Runtime.getRuntime().availableProcessors()),
+                new DefaultThreadFactory(THREAD_POOL_NAME, true)) : null;
+        this.dispatcher = new AsyncRedisStripedExecutor(executor == null ? ownedExecutor : executor, stripes);
+        this.channelListeners = new ConcurrentHashMap<>();
+        this.patternListeners = new ConcurrentHashMap<>();
+        Bootstrap bootstrap = new Bootstrap().channel(AsyncRedisChannelPool.getSocketChannel());
+        this.subscriptions = new AsyncRedisSubscription[connections];
+        for (int i = 0; i < connections; i++) {
+            subscriptions[i] = new AsyncRedisSubscription(this, workerGroup.next(), bootstrap);
+        }
+    }
+
+    public CompletableFuture<Void> subscribe(RedisMessageListener listener, String... channels) {
+        return subscribe(false, listener, channels);
+    }
+
+    public CompletableFuture<Void> psubscribe(RedisMessageListener listener, String... patterns) {
+        return subscribe(true, listener, patterns);
+    }
+
+    public CompletableFuture<Void> unsubscribe(String... channels) {
+        return unsubscribe(false, channels);
+    }
+
+    public CompletableFuture<Void> punsubscribe(String... patterns) {
+        return unsubscribe(true, patterns);
+    }
+
+    public void shutdown() {
+        if (!started.compareAndSet(true, false)) {
+            return;
+        }
+        for (AsyncRedisSubscription subscription : subscriptions) {
+            subscription.stop();
+        }
+        workerGroup.shutdownGracefully();
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        for (AsyncRedisSubscription subscription : subscriptions) {
+            subscription.start();
+        }
+    }
+
+    String getHost() {
+        return host;
+    }
+
+    int getPort() {
+        return port;
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    long getReconnectDelay(int attempt) {
+        return AsyncRedisChannelPool.getReconnectDelay(minReconnectDelay, maxReconnectDelay, attempt);
+    }
+
+    void dispatch(boolean pattern, String name, String channel, Object message) {
+        RedisMessageListener listener = (pattern ? patternListeners : channelListeners).get(name);
+        if (listener == null) {
+            return;
+        }
+        dispatcher.execute(channel, () -> listener.onMessage(channel, message));
+    }
+
+    void forget(boolean pattern, List<String> names) {
+        (pattern ? patternListeners : channelListeners).keySet().removeAll(names);
+    }
+
+    private CompletableFuture<Void> subscribe(boolean pattern, RedisMessageListener listener, String... names) {
+        if (listener == null) {
+            throw new IllegalStateException("The listener can not be empty");
+        }
+        ConcurrentHashMap<String, RedisMessageListener> listeners = pattern ? patternListeners : channelListeners;
+        List<String> added = new ArrayList<>(names.length);
+        for (String name : names) {
+            RedisMessageListener current = listeners.putIfAbsent(name, listener);
+            if (current == null) {
+                added.add(name);
+            } else if (current != listener) {
+                for (String previous : added) {
+                    listeners.remove(previous, listener);
+                }
+                throw new IllegalStateException("The channel " + name + " has already been subscribed by another listener");
+            }
+        }
+        return forEachSubscription(names, (subscription, partition) -> subscription.subscribe(pattern, partition));
+    }
+
+    private CompletableFuture<Void> unsubscribe(boolean pattern, String... names) {
+        ConcurrentHashMap<String, RedisMessageListener> listeners = pattern ? patternListeners : channelListeners;
+        listeners.keySet().removeAll(Arrays.asList(names));
+        return forEachSubscription(names, (subscription, partition) -> subscription.unsubscribe(pattern, partition));
+    }
+
+    private CompletableFuture<Void> forEachSubscription(String[] names,
+                                                        BiFunction<AsyncRedisSubscription, List<String>, CompletableFuture<Void>> action) {
+        if (!started.get()) {
+            throw new IllegalStateException("The subscriber has been stopped");
+        }
+        if (names.length == 0) {
+            throw new IllegalStateException("The list of channels can not be empty");
+        }
+        List<List<String>> partitions = new ArrayList<>(subscriptions.length);
+        for (int i = 0; i < subscriptions.length; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (String name : names) {
+            partitions.get((name.hashCode() & Integer.MAX_VALUE) % subscriptions.length).add(name);
+        }
+        List<CompletableFuture<Void>> futures = new ArrayList<>(subscriptions.length);
+        for (int i = 0; i < subscriptions.length; i++) {
+            if (!partitions.get(i).isEmpty()) {
+                futures.add(action.apply(subscriptions[i], partitions.get(i)));
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private static final String THREAD_POOL_NAME = "redis-subscriber";
+
+}
@@ -0,0 +1,355 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.JavaRedisDeserializer;
+import com.github.jasync.redis.utils.NettyRedisDecoder;
+import com.github.jasync.redis.utils.NettyRedisEncoder;
+import com.github.jasync.redis.utils.RedisConverter;
+import com.github.jasync.redis.utils.RedisReplyListener;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoop;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+final class AsyncRedisSubscription {
+
+    private final AsyncRedisSubscriber subscriber;
+    private final EventLoop loop;
+    private final Bootstrap bootstrap;
+    private final Set<String> channels;
+    private final Set<String> patterns;
+    private final Map<String, Queue<Waiter>> waiters;
+    private final Queue<Request> requests;
+    private boolean started;
+    private Channel channel;
+    private int attempt;
+
+    AsyncRedisSubscription(AsyncRedisSubscriber subscriber, EventLoop loop, Bootstrap poolBootstrap) {
+        this.subscriber = subscriber;
+        this.loop = loop;
+        this.channels = new LinkedHashSet<>();
+        this.patterns = new LinkedHashSet<>();
+        this.waiters = new HashMap<>();
+        this.requests = new ArrayDeque<>();
+        this.bootstrap = poolBootstrap.clone(loop).handler(new ChannelInitializer<SocketChannel>() {
+            @Override
+            protected void initChannel(SocketChannel ch) {
+                SubscriptionHandler handler = new SubscriptionHandler();
+                ChannelPipeline pipeline = ch.pipeline();
+                pipeline.addLast(new NettyRedisDecoder(handler));
+                pipeline.addLast(new NettyRedisEncoder());
+                pipeline.addLast(handler);
+            }
+        });
+    }
+
+    void start() {
+        loop.execute(() -> {
+            started = true;
+            connect();
+        });
+    }
+
+    void stop() {
+        loop.execute(() -> {
+            started = false;
+            if (channel != null) {
+                channel.close();
+            }
+            IllegalStateException cause = new IllegalStateException("The subscriber has been stopped");
+            for (Queue<Waiter> queue : waiters.values()) {
+                for (Waiter waiter : queue) {
+                    waiter.result.completeExceptionally(cause);
+                }
+            }
+            waiters.clear();
+        });
+    }
+
+    CompletableFuture<Void> subscribe(boolean pattern, List<String> names) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        loop.execute(() -> {
+            if (!started) {
+                result.completeExceptionally(new IllegalStateException("The subscriber has been stopped"));
+                return;
+            }
+            (pattern ? patterns : channels).addAll(names);
+            String command = pattern ? PSUBSCRIBE : SUBSCRIBE;
+            await(command, names, result);
+            if (channel != null) {
+                write(command, names);
+                channel.flush();
+            }
+        });
+        return result;
+    }
+
+    CompletableFuture<Void> unsubscribe(boolean pattern, List<String> names) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        loop.execute(() -> {
+            (pattern ? patterns : channels).removeAll(names);
+            if (channel == null) {
+                result.complete(null);
+                return;
+            }
+            String command = pattern ? PUNSUBSCRIBE : UNSUBSCRIBE;
+            await(command, names, result);
+            write(command, names);
+            channel.flush();
+        });
+        return result;
+    }
+
+    private void await(String command, List<String> names, CompletableFuture<Void> result) {
+        Waiter waiter = new Waiter(names.size(), result);
+        for (String name : names) {
+            waiters.computeIfAbsent(command + ':' + name, key -> new ArrayDeque<>()).add(waiter);
+        }
+    }
+
+    private void acknowledge(String command, String name) {
+        Request request = requests.peek();
+        if (request != null && request.command.equals(command) && --request.remaining == 0) {
+            requests.poll();
+        }
+        Waiter waiter = pollWaiter(command, name);
+        if (waiter != null && --waiter.remaining == 0) {
+            waiter.result.complete(null);
+        }
+    }
+
+    private void reject(Throwable error) {
+        Request request = requests.poll();
+        if (request == null) {
+            LOGGER.warn("The subscriber has received an unexpected error", error);
+            return;
+        }
+        for (String name : request.names) {
+            Waiter waiter = pollWaiter(request.command, name);
+            if (waiter != null) {
+                waiter.result.completeExceptionally(error);
+            }
+        }
+        boolean pattern = PSUBSCRIBE.equals(request.command);
+        if (pattern || SUBSCRIBE.equals(request.command)) {
+            (pattern ? patterns : channels).removeAll(request.names);
+            subscriber.forget(pattern, request.names);
+        }
+    }
+
+    private Waiter pollWaiter(String command, String name) {
+        String key = command + ':' + name;
+        Queue<Waiter> queue = waiters.get(key);
+        if (queue == null) {
+            return null;
+        }
+        Waiter waiter = queue.poll();
+        if (queue.isEmpty()) {
+            waiters.remove(key);
+        }
+        return waiter;
+    }
+
+    private void write(String command, Collection<String> names) {
+        Iterator<String> iterator = names.iterator();
+        while (iterator.hasNext()) {
+            int size = Math.min(subscriber.getBatchSize(), names.size());
+            Object[] args = new Object[size];
+            int count = 0;
+            while (count < size && iterator.hasNext()) {
+                args[count++] = iterator.next();
+            }
+            Object[] batch = count == size ? args : Arrays.copyOf(args, count);
+            requests.add(new Request(command, batch));
+            channel.write(RedisConverter.createRequest(command, null, null, batch), channel.voidPromise());
+        }
+    }
+
+    private void connect() {
+        if (!started) {
+            return;
+        }
+        bootstrap.connect(subscriber.getHost(), subscriber.getPort()).addListener(future -> {
+            if (!future.isSuccess()) {
+                LOGGER.warn("The subscriber can not connect to " + subscriber.getHost() + ":" + subscriber.getPort(), future.cause());
+                reconnect();
+            }
+        });
+    }
+
+    private void reconnect() {
+        if (started) {
+            loop.schedule(this::connect, subscriber.getReconnectDelay(attempt++), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void dispatch(Object reply) {
+        if (!(reply instanceof List)) {
+            RedisConverter.release(reply);
+            return;
+        }
+        List<?> message = (List<?>) reply;
+        Object kind = message.isEmpty() ? null : message.get(0);
+        if (MESSAGE.equals(kind) && message.size() == 3) {
+            subscriber.dispatch(false, String.valueOf(message.get(1)), String.valueOf(message.get(1)), message.get(2));
+        } else if (PMESSAGE.equals(kind) && message.size() == 4) {
+            subscriber.dispatch(true, String.valueOf(message.get(1)), String.valueOf(message.get(2)), message.get(3));
+        } else if (message.size() == 3 && ACKNOWLEDGED.contains(String.valueOf(kind))) {
+            acknowledge(String.valueOf(kind), String.valueOf(message.get(1)));
+        } else {
+            RedisConverter.release(reply);
+        }
+    }
+
+    private static final class Waiter {
+
+        private final CompletableFuture<Void> result;
+        private int remaining;
+
+        private Waiter(int remaining, CompletableFuture<Void> result) {
+            this.remaining = remaining;
+            this.result = result;
+            if (remaining == 0) {
+                result.complete(null);
+            }
+        }
+
+    }
+
+    private static final class Request {
+
+        private final String command;
+        private final List<String> names;
+        private int remaining;
+
+        private Request(String command, Object[] names) {
+            this.command = command;
+            this.names = new ArrayList<>(names.length);
+            for (Object name : names) {
+                this.names.add((String) name);
+            }
+            this.remaining = names.length;
+        }
+
+    }
+
+    private final class SubscriptionHandler extends ChannelInboundHandlerAdapter implements RedisReplyListener {
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) {
+            if (!started) {
+                ctx.close();
+                return;
+            }
+            channel = ctx.channel();
+            attempt = 0;
+            if (!channels.isEmpty()) {
+                write(SUBSCRIBE, channels);
+            }
+            if (!patterns.isEmpty()) {
+                write(PSUBSCRIBE, patterns);
+            }
+            ctx.flush();
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) {
+            if (channel == ctx.channel()) {
+                channel = null;
+            }
+            requests.clear();
+            for (Iterator<Map.Entry<String, Queue<Waiter>>> iterator = waiters.entrySet().iterator(); iterator.hasNext(); ) {
+                Map.Entry<String, Queue<Waiter>> entry = iterator.next();
+                if (entry.getKey().startsWith(UNSUBSCRIBE) || entry.getKey().startsWith(PUNSUBSCRIBE)) {
+                    for (Waiter waiter : entry.getValue()) {
+                        if (--waiter.remaining == 0) {
+                            waiter.result.complete(null);
+                        }
+                    }
+                    iterator.remove();
+                }
+            }
+            reconnect();
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            LOGGER.warn("The subscription channel has failed", cause);
+            ctx.close();
+        }
+
+        @Override
+        public JavaRedisDeserializer getReplyDeserializer() {
+            return null;
+        }
+
+        @Override
+        public boolean isLongReply() {
+            return false;
+        }
+
+        @Override
+        public boolean isStreamReply() {
+            return false;
+        }
+
+        @Override
+        public boolean isReadSuspended() {
+            return false;
+        }
+
+        @Override
+        public void onElement(Object element) {
+            RedisConverter.release(element);
+        }
+
+        @Override
+        public void onReply(Object reply) {
+            dispatch(reply);
+        }
+
+        @Override
+        public void onLong(long reply) {
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            reject(error);
+        }
+
+        @Override
+        public void onPush(List<Object> message) {
+            dispatch(message);
+        }
+
+    }
+
+    private static final String SUBSCRIBE = "subscribe";
+    private static final String PSUBSCRIBE = "psubscribe";
+    private static final String UNSUBSCRIBE = "unsubscribe";
+    private static final String PUNSUBSCRIBE = "punsubscribe";
+    private static final String MESSAGE = "message";
+    private static final String PMESSAGE = "pmessage";
+    private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(AsyncRedisSubscription.class);
+    private static final Set<String> ACKNOWLEDGED = new LinkedHashSet<>(Arrays.asList(SUBSCRIBE, PSUBSCRIBE, UNSUBSCRIBE, PUNSUBSCRIBE));
+
+}
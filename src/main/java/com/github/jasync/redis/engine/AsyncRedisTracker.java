@@ -0,0 +1,202 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.JavaRedisDeserializer;
+import com.github.jasync.redis.utils.NettyRedisDecoder;
+import com.github.jasync.redis.utils.NettyRedisEncoder;
+import com.github.jasync.redis.utils.RedisConverter;
+import com.github.jasync.redis.utils.RedisReplyListener;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+final class AsyncRedisTracker {
+
+    private final AsyncRedisChannelPool pool;
+    private final AsyncRedisNearCache nearCache;
+    private final AtomicBoolean started;
+    private final CompletableFuture<Void> ready;
+    private volatile Bootstrap bootstrap;
+    private volatile Channel channel;
+
+    AsyncRedisTracker(AsyncRedisChannelPool pool, AsyncRedisNearCache nearCache) {
+        this.pool = pool;
+        this.nearCache = nearCache;
+        this.started = new AtomicBoolean(false);
+        this.ready = new CompletableFuture<>();
+    }
+
+    long getTrackingId() {
+        return nearCache.getTrackingId();
+    }
+
+    CompletableFuture<Void> start(Bootstrap poolBootstrap) {
+        if (!started.compareAndSet(false, true)) {
+            return ready;
+        }
+        bootstrap = poolBootstrap.clone().handler(new ChannelInitializer<SocketChannel>() {
+            @Override
+            protected void initChannel(SocketChannel ch) {
+                TrackingHandler handler = new TrackingHandler();
+                ChannelPipeline pipeline = ch.pipeline();
+                pipeline.addLast(new NettyRedisDecoder(handler));
+                pipeline.addLast(new NettyRedisEncoder());
+                pipeline.addLast(handler);
+            }
+        });
+        connect(0);
+        return ready;
+    }
+
+    void stop() {
+        if (!started.compareAndSet(true, false)) {
+            return;
+        }
+        Channel channel = this.channel;
+        if (channel != null) {
+            channel.close();
+        }
+        nearCache.setTrackingId(-1);
+        ready.complete(null);
+    }
+
+    private void connect(int attempt) {
+        if (!started.get()) {
+            return;
+        }
+        bootstrap.connect(pool.getHost(), pool.getPort()).addListener(future -> {
+            if (!future.isSuccess()) {
+                LOGGER.warn("The tracking channel can not connect to " + pool.getHost() + ":" + pool.getPort(), future.cause());
+                ready.completeExceptionally(future.cause());
+                reconnect(attempt + 1);
+            }
+        });
+    }
+
+    private void reconnect(int attempt) {
+        if (started.get()) {
+            bootstrap.config().group().schedule(() -> connect(attempt), pool.getReconnectDelay(attempt), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private final class TrackingHandler extends ChannelInboundHandlerAdapter implements RedisReplyListener {
+
+        private ChannelHandlerContext ctx;
+        private long clientId = -1;
+        private boolean subscribed;
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) {
+            this.ctx = ctx;
+            channel = ctx.channel();
+            if (!started.get()) {
+                ctx.close();
+                return;
+            }
+            ctx.writeAndFlush(RedisConverter.createRequest(CLIENT, null, null, ID));
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) {
+            channel = null;
+            if (clientId > -1) {
+                nearCache.setTrackingId(-1);
+            }
+            reconnect(subscribed ? 0 : 1);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            LOGGER.warn("The tracking channel has failed", cause);
+            ready.completeExceptionally(cause);
+            ctx.close();
+        }
+
+        @Override
+        public JavaRedisDeserializer getReplyDeserializer() {
+            return null;
+        }
+
+        @Override
+        public boolean isLongReply() {
+            return false;
+        }
+
+        @Override
+        public boolean isStreamReply() {
+            return false;
+        }
+
+        @Override
+        public boolean isReadSuspended() {
+            return false;
+        }
+
+        @Override
+        public void onElement(Object element) {
+        }
+
+        @Override
+        public void onLong(long reply) {
+            onReply(reply);
+        }
+
+        @Override
+        public void onReply(Object reply) {
+            if (clientId < 0) {
+                clientId = (Long) reply;
+                ctx.writeAndFlush(RedisConverter.createRequest(SUBSCRIBE, INVALIDATE_CHANNEL, null));
+            } else if (!subscribed) {
+                subscribed = true;
+                nearCache.setTrackingId(clientId);
+                ready.complete(null);
+            } else if (reply instanceof List && ((List<?>) reply).size() == 3 && MESSAGE.equals(((List<?>) reply).get(0))) {
+                invalidate(((List<?>) reply).get(2));
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            exceptionCaught(ctx, error);
+        }
+
+        @Override
+        public void onPush(List<Object> message) {
+            if (message.size() == 2 && INVALIDATE.equals(message.get(0))) {
+                invalidate(message.get(1));
+            }
+        }
+
+        private void invalidate(Object keys) {
+            if (!(keys instanceof List) || ((List<?>) keys).isEmpty()) {
+                nearCache.invalidateAll();
+                return;
+            }
+            for (Object key : (List<?>) keys) {
+                if (key instanceof String) {
+                    nearCache.invalidate((String) key);
+                }
+            }
+        }
+
+    }
+
+    private static final InternalLogger LOGGER = InternalLoggerFactory.getInstance(AsyncRedisTracker.class);
+    private static final String CLIENT = "client";
+    private static final String ID = "id";
+    private static final String SUBSCRIBE = "subscribe";
+    private static final String MESSAGE = "message";
+    private static final String INVALIDATE = "invalidate";
+    private static final String INVALIDATE_CHANNEL = "__redis__:invalidate";
+
+}
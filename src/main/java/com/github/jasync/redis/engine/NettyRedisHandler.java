@@ -1,103 +1,216 @@
 package com.github.jasync.redis.engine;
 
 import com.github.jasync.redis.JavaRedisDeserializer;
+import com.github.jasync.redis.RedisTimeoutException;
 import com.github.jasync.redis.utils.RedisConverter;
+import com.github.jasync.redis.utils.RedisReplyListener;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
-import io.netty.handler.codec.redis.RedisMessage;
-import io.netty.util.ReferenceCountUtil;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
-public class NettyRedisHandler extends ChannelDuplexHandler {
+public class NettyRedisHandler extends ChannelDuplexHandler implements RedisReplyListener {
 
     private final AsyncRedisChannelPool channelPool;
+    private final Queue<AsyncRedisCommand> inFlight;
+    private final AsyncRedisMetrics metrics;
+    private final Set<String> scripts;
     private Throwable cause;
-    private boolean dbSelected;
+    private int handshakeReplies;
+    private boolean helloSent;
+    private long trackingId;
     private AsyncRedisChannel redisChannel;
-    private Queue<Object> pocket;
-    private JavaRedisDeserializer deserializer;
+    private AsyncRedisFlusher flusher;
+    private ChannelHandlerContext ctx;
+    private boolean readSuspended;
+    private long lastProgress;
+    private ScheduledFuture<?> liveness;
 
     public NettyRedisHandler(AsyncRedisChannelPool channelPool) {
         this.channelPool = channelPool;
+        this.inFlight = new ArrayDeque<>();
+        this.metrics = channelPool.getMetrics();
+        this.scripts = new HashSet<>();
         this.redisChannel = null;
-        this.dbSelected = false;
     }
 
     @Override
     public void channelActive(ChannelHandlerContext ctx) {
+        if (channelPool.getProtocolVersion() > 2) {
+            ctx.write(RedisConverter.createRequest(HELLO, null, null, channelPool.getProtocolVersion()));
+            handshakeReplies++;
+            helloSent = true;
+        }
         int db = channelPool.getDb();
         if (db > -1) {
-            ctx.writeAndFlush(RedisConverter.createRequest(SELECT, String.valueOf(db), null));
-        } else {
+            ctx.write(RedisConverter.createRequest(SELECT, String.valueOf(db), null));
+            handshakeReplies++;
+        }
+        if (channelPool.isReadOnly()) {
+            ctx.write(RedisConverter.createRequest(READONLY, null, null));
+            handshakeReplies++;
+        }
+        trackingId = channelPool.getTrackingId();
+        if (trackingId > -1) {
+            ctx.write(RedisConverter.createRequest(CLIENT, null, null, TRACKING, ON, REDIRECT, trackingId));
+            handshakeReplies++;
+        }
+        if (handshakeReplies == 0) {
             initChannel(ctx);
+        } else {
+            ctx.flush();
         }
     }
 
     @Override
-    public void channelRead(ChannelHandlerContext ctx, Object msg) {
-        if (!dbSelected) {
-            initChannel(ctx);
-            ReferenceCountUtil.release(msg);
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public JavaRedisDeserializer getReplyDeserializer() {
+        AsyncRedisCommand command = inFlight.peek();
+        return command == null ? null : command.getDeserializer();
+    }
+
+    @Override
+    public boolean isLongReply() {
+        AsyncRedisCommand command = inFlight.peek();
+        return command != null && !command.isPrelude() && command.getOwner().isLongReply();
+    }
+
+    @Override
+    public boolean isStreamReply() {
+        AsyncRedisCommand command = inFlight.peek();
+        return command != null && !command.isPrelude() && command.getOwner().isStreamReply();
+    }
+
+    @Override
+    public boolean isReadSuspended() {
+        return readSuspended;
+    }
+
+    @Override
+    public void onElement(Object element) {
+        AsyncRedisCommand command = inFlight.peek();
+        lastProgress = System.nanoTime();
+        if (redisChannel == null || command == null || command.isPrelude() || !command.getOwner().isStreamReply()) {
+            RedisConverter.release(element);
             return;
         }
-        AsyncRedisChannel redisChannel = this.redisChannel;
-        if (redisChannel == null || redisChannel.isNotEstablished()) {
+        AsyncRedisStreamCommands commands = (AsyncRedisStreamCommands) command.getOwner();
+        commands.addElement(element);
+        if (!commands.hasDemand()) {
+            suspendReading(commands);
+        }
+    }
+
+    @Override
+    public void onReply(Object reply) {
+        if (handshakeReplies > 0) {
+            helloSent = false;
+            if (--handshakeReplies == 0) {
+                initChannel(ctx);
+            }
             return;
         }
-        Boolean single = redisChannel.isOnlyOneCommand();
-        if (single == null) {
+        AsyncRedisCommand command = pollCommand();
+        if (command == null) {
             return;
         }
-        RedisMessage redisResponse = (RedisMessage) msg;
-        try {
-            Object objectResponse = RedisConverter.getResponse(this.deserializer, redisResponse);
-            if (single) {
-                deserializer = null;
-                pocket = null;
-                channelPool.releaseChannel(redisChannel, new AsyncRedisResponse(objectResponse), null);
-            } else {
-                pocket.add(objectResponse);
-                AsyncRedisCommand nextAsyncRedisCommand = redisChannel.nextCommand();
-                if (nextAsyncRedisCommand == null) {
-                    deserializer = null;
-                    channelPool.releaseChannel(redisChannel, new AsyncRedisResponse(new ArrayList<>(pocket)), null);
-                    pocket = null;
-                } else {
-                    this.deserializer = nextAsyncRedisCommand.getDeserializer();
-                    ctx.writeAndFlush(nextAsyncRedisCommand.getRequest());
-                }
+        if (command.isPrelude()) {
+            RedisConverter.release(reply);
+            complete(command.getOwner(), command.getOwner().countReply());
+            return;
+        }
+        complete(command.getOwner(), command.getOwner().addResult(command, reply));
+    }
+
+    @Override
+    public void onLong(long reply) {
+        AsyncRedisCommand command = pollCommand();
+        if (command == null) {
+            return;
+        }
+        if (command.isPrelude()) {
+            complete(command.getOwner(), command.getOwner().countReply());
+            return;
+        }
+        complete(command.getOwner(), command.getOwner().addLong(command, reply));
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        if (handshakeReplies > 0) {
+            if (helloSent) {
+                helloSent = false;
+                onReply(null);
+                return;
             }
-        } catch (Throwable ex) {
-            deserializer = null;
-            pocket = null;
-            channelPool.releaseChannel(redisChannel, null, ex);
-        } finally {
-            ReferenceCountUtil.release(redisResponse);
+            exceptionCaught(ctx, error);
+            return;
+        }
+        AsyncRedisCommand command = pollCommand();
+        if (command == null) {
+            return;
+        }
+        if (command.hasScript() && isNoScript(error)) {
+            scripts.clear();
+            AsyncRedisCommand retry = command.createRetry();
+            inFlight.add(retry);
+            ctx.writeAndFlush(retry.getRequest(), ctx.voidPromise());
+            return;
         }
+        complete(command.getOwner(), command.getOwner().addError(error));
     }
 
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
-        AsyncRedisChannel channel = this.redisChannel;
-        if (channel == null || channel.isNotEstablished()) {
+        if (!(msg instanceof AsyncRedisCommands)) {
+            ctx.write(msg, promise);
             return;
         }
-        Boolean yes = channel.isOnlyOneCommand();
-        if (yes == null) {
-            return;
+        AsyncRedisCommands commands = (AsyncRedisCommands) msg;
+        AsyncRedisCommand asyncRedisCommand = commands.getNextCommand();
+        int written = 0;
+        if (inFlight.isEmpty()) {
+            lastProgress = System.nanoTime();
+        }
+        while (asyncRedisCommand != null) {
+            AsyncRedisCommand nextAsyncRedisCommand = commands.getNextCommand();
+            AsyncRedisCommand scripted = asyncRedisCommand.isPrelude() ? nextAsyncRedisCommand : asyncRedisCommand;
+            if (scripted != null && scripted.hasScript() && !scripts.contains(scripted.getDigest())) {
+                loadScript(ctx, commands, scripted);
+                written++;
+            }
+            inFlight.add(asyncRedisCommand);
+            ctx.write(asyncRedisCommand.getRequest(), nextAsyncRedisCommand == null ? promise : ctx.voidPromise());
+            asyncRedisCommand = nextAsyncRedisCommand;
+            written++;
+        }
+        if (metrics != null) {
+            commands.markWritten(System.nanoTime());
         }
-        if (yes) {
-            pocket = null;
+        if (flusher != null) {
+            flusher.written(written);
         } else {
-            pocket = new LinkedList<>();
+            channelPool.getStatistics().recordFlush(written);
+        }
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        if (flusher == null) {
+            ctx.flush();
         }
-        AsyncRedisCommand asyncRedisCommand = channel.nextCommand();
-        this.deserializer = asyncRedisCommand.getDeserializer();
-        ctx.write(asyncRedisCommand.getRequest(), promise);
     }
 
     @Override
@@ -110,23 +223,124 @@ public class NettyRedisHandler extends ChannelDuplexHandler {
     public void channelUnregistered(ChannelHandlerContext ctx) {
         AsyncRedisChannel channel = this.redisChannel;
         if (channel == null) {
-            this.channelPool.updateChannelState(new AsyncRedisChannel(ctx.channel(), false));
+            this.channelPool.updateChannelState(ctx.channel(), null);
             return;
         }
-        this.pocket = null;
-        this.deserializer = null;
+        if (liveness != null) {
+            liveness.cancel(false);
+            liveness = null;
+        }
+        Throwable cause = this.cause == null ? new RuntimeException("The channel has been closed") : this.cause;
+        AsyncRedisCommand command = inFlight.poll();
+        while (command != null) {
+            command.getOwner().fail(cause);
+            command.getOwner().releaseAdmission(cause);
+            command = inFlight.poll();
+        }
         this.redisChannel = null;
-        this.channelPool.terminateChannel(channel, cause);
+        this.flusher = null;
+        this.readSuspended = false;
+        this.channelPool.terminateChannel(channel);
         this.cause = null;
     }
 
+    @Override
+    public void onPush(List<Object> message) {
+        channelPool.onPush(message);
+    }
+
+    private void suspendReading(AsyncRedisStreamCommands commands) {
+        readSuspended = true;
+        ctx.channel().config().setAutoRead(false);
+        commands.setResumer(() -> ctx.executor().execute(this::resumeReading));
+        if (commands.hasDemand()) {
+            readSuspended = false;
+            ctx.channel().config().setAutoRead(true);
+        }
+    }
+
+    private void resumeReading() {
+        if (!readSuspended || redisChannel == null) {
+            return;
+        }
+        AsyncRedisCommand command = inFlight.peek();
+        if (command != null && command.getOwner().isStreamReply()
+                && !((AsyncRedisStreamCommands) command.getOwner()).hasDemand()) {
+            return;
+        }
+        readSuspended = false;
+        ctx.channel().config().setAutoRead(true);
+        ctx.pipeline().fireChannelRead(Unpooled.EMPTY_BUFFER);
+    }
+
+    private AsyncRedisCommand pollCommand() {
+        AsyncRedisCommand command = inFlight.poll();
+        lastProgress = System.nanoTime();
+        if (redisChannel == null) {
+            return null;
+        }
+        return command;
+    }
+
+    private void complete(AsyncRedisCommands commands, boolean completed) {
+        if (!completed) {
+            return;
+        }
+        if (metrics != null) {
+            metrics.record(commands, System.nanoTime());
+        }
+        channelPool.releaseChannel(redisChannel, commands);
+    }
+
+    private void loadScript(ChannelHandlerContext ctx, AsyncRedisCommands commands, AsyncRedisCommand command) {
+        if (scripts.size() >= AsyncRedisScripts.MAX_SCRIPTS) {
+            scripts.clear();
+        }
+        scripts.add(command.getDigest());
+        AsyncRedisCommand prelude = commands.createPrelude(RedisConverter.createRequest(SCRIPT, LOAD, null, command.getScript()));
+        inFlight.add(prelude);
+        ctx.write(prelude.getRequest(), ctx.voidPromise());
+    }
+
     private void initChannel(ChannelHandlerContext ctx) {
-        dbSelected = true;
-        AsyncRedisChannel newChannel = new AsyncRedisChannel(ctx.channel(), true);
+        flusher = channelPool.createFlusher(ctx);
+        long commandTimeout = channelPool.getCommandTimeout();
+        liveness = ctx.executor().scheduleWithFixedDelay(this::checkLiveness, commandTimeout, commandTimeout, TimeUnit.MILLISECONDS);
+        AsyncRedisChannel newChannel = new AsyncRedisChannel(ctx.channel(), true, trackingId);
         redisChannel = newChannel;
-        channelPool.updateChannelState(newChannel);
+        channelPool.updateChannelState(ctx.channel(), newChannel);
+    }
+
+    private void checkLiveness() {
+        AsyncRedisCommand command = inFlight.peek();
+        if (command == null || readSuspended) {
+            return;
+        }
+        long timeout = command.getOwner().getTimeout();
+        if (timeout < 0) {
+            timeout = channelPool.getCommandTimeout();
+        }
+        long stalled = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastProgress);
+        if (stalled > timeout * STALL_FACTOR) {
+            exceptionCaught(ctx, new RedisTimeoutException("The connection has not replied in " + stalled + " milliseconds"));
+        }
+    }
+
+    private static boolean isNoScript(Throwable error) {
+        String message = error.getMessage();
+        return message != null && message.startsWith(NO_SCRIPT);
     }
 
+    private static final int STALL_FACTOR = 2;
+    private static final String HELLO = "hello";
     private static final String SELECT = "select";
+    private static final String CLIENT = "client";
+    private static final String TRACKING = "tracking";
+    private static final String ON = "on";
+    private static final String REDIRECT = "redirect";
+    private static final String READONLY = "readonly";
+    private static final String SCRIPT = "script";
+    private static final String LOAD = "load";
+    private static final String NO_SCRIPT = "NOSCRIPT";
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,481 @@
+package com.github.jasync.redis.utils;
+
+import com.github.jasync.redis.JavaRedisDeserializer;
+import com.github.jasync.redis.RedisReplyException;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.DecoderException;
+import io.netty.util.ByteProcessor;
+import io.netty.util.CharsetUtil;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class NettyRedisDecoder extends ByteToMessageDecoder {
+
+    private final RedisReplyListener listener;
+    private final ArrayDeque<ArrayFrame> frames;
+    private JavaRedisDeserializer deserializer;
+    private boolean longReply;
+    private boolean streamReply;
+    private boolean pushReply;
+    private Throwable error;
+
+    public NettyRedisDecoder(RedisReplyListener listener) {
+        this.listener = listener;
+        this.frames = new ArrayDeque<>();
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        if (listener.isReadSuspended()) {
+            discardSomeReadBytes();
+            ctx.fireChannelReadComplete();
+            return;
+        }
+        super.channelReadComplete(ctx);
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+        while (in.isReadable() && !listener.isReadSuspended()) {
+            int readerIndex = in.readerIndex();
+            if (!decodeValue(in)) {
+                in.readerIndex(readerIndex);
+                return;
+            }
+        }
+    }
+
+    @Override
+    protected void handlerRemoved0(ChannelHandlerContext ctx) {
+        ArrayFrame frame = frames.poll();
+        while (frame != null) {
+            frame.release();
+            frame = frames.poll();
+        }
+        error = null;
+        deserializer = null;
+    }
+
+    private boolean decodeValue(ByteBuf in) {
+        if (frames.isEmpty()) {
+            deserializer = listener.getReplyDeserializer();
+            longReply = listener.isLongReply();
+            streamReply = listener.isStreamReply();
+            pushReply = false;
+        }
+        byte type = in.readByte();
+        int lineEnd = in.forEachByte(ByteProcessor.FIND_LF);
+        if (lineEnd < 0) {
+            return false;
+        }
+        int lineStart = in.readerIndex();
+        int lineLength = lineEnd - 1 - lineStart;
+        if (lineLength < 0 || in.getByte(lineEnd - 1) != '\r') {
+            throw new DecoderException("The reply line is not terminated by CRLF");
+        }
+        in.readerIndex(lineEnd + 1);
+        switch (type) {
+            case SIMPLE_STRING:
+                complete(in.toString(lineStart, lineLength, CharsetUtil.UTF_8));
+                return true;
+            case ERROR:
+                fail(new RedisReplyException(in.toString(lineStart, lineLength, CharsetUtil.UTF_8)));
+                return true;
+            case INTEGER:
+                completeLong(parseLong(in, lineStart, lineLength));
+                return true;
+            case BULK_STRING:
+            case VERBATIM_STRING:
+            case BLOB_ERROR:
+                return decodeBulkString(in, parseLong(in, lineStart, lineLength), type);
+            case ARRAY:
+            case MAP:
+            case SET:
+            case PUSH:
+            case ATTRIBUTE:
+                decodeAggregate(parseLong(in, lineStart, lineLength), type);
+                return true;
+            case NULL:
+                complete(null);
+                return true;
+            case BOOLEAN:
+                complete(parseBoolean(in, lineStart, lineLength));
+                return true;
+            case DOUBLE:
+                complete(parseDouble(in.toString(lineStart, lineLength, CharsetUtil.US_ASCII)));
+                return true;
+            case BIG_NUMBER:
+                complete(parseBigNumber(in.toString(lineStart, lineLength, CharsetUtil.US_ASCII)));
+                return true;
+            default:
+                throw new DecoderException("Unknown reply type: " + (char) type);
+        }
+    }
+
+    private boolean decodeBulkString(ByteBuf in, long length, byte type) {
+        if (length < 0) {
+            complete(null);
+            return true;
+        }
+        if (length > Integer.MAX_VALUE - 2) {
+            throw new DecoderException("The bulk string is too long: " + length);
+        }
+        if (in.readableBytes() < length + 2) {
+            return false;
+        }
+        int index = in.readerIndex();
+        in.skipBytes((int) length + 2);
+        if (type == VERBATIM_STRING) {
+            int prefix = (int) Math.min(VERBATIM_PREFIX, length);
+            index += prefix;
+            length -= prefix;
+        }
+        if (type == BLOB_ERROR) {
+            fail(new RedisReplyException(in.toString(index, (int) length, CharsetUtil.UTF_8)));
+            return true;
+        }
+        if (isLongExpected()) {
+            if (isNumber(in, index, (int) length)) {
+                completeLong(parseLong(in, index, (int) length));
+            } else {
+                fail(new RuntimeException("The reply is not a number: " + in.toString(index, (int) length, CharsetUtil.UTF_8)));
+            }
+            return true;
+        }
+        Object value;
+        try {
+            value = RedisConverter.getBulkString(deserializer, in, index, (int) length);
+        } catch (RuntimeException ex) {
+            fail(ex);
+            return true;
+        }
+        complete(value);
+        return true;
+    }
+
+    private void decodeAggregate(long size, byte type) {
+        boolean top = frames.isEmpty();
+        if (top && type == PUSH) {
+            pushReply = true;
+            deserializer = null;
+            longReply = false;
+            streamReply = false;
+        }
+        boolean stream = streamReply && top && type != ATTRIBUTE;
+        boolean numbers = longReply && top && type == ARRAY;
+        if (size < 0) {
+            if (type != ATTRIBUTE) {
+                complete(null);
+            }
+            return;
+        }
+        if (size == 0) {
+            if (type != ATTRIBUTE) {
+                complete(stream ? null : numbers ? EMPTY_NUMBERS : ArrayFrame.empty(type));
+            }
+            return;
+        }
+        long elements = type == MAP || type == ATTRIBUTE ? size * 2 : size;
+        if (elements > Integer.MAX_VALUE) {
+            throw new DecoderException("The aggregate reply is too long: " + size);
+        }
+        frames.push(new ArrayFrame(type, (int) elements, numbers, stream));
+    }
+
+    private boolean isLongExpected() {
+        ArrayFrame frame = frames.peek();
+        return longReply && (frame == null || frame.numbers != null);
+    }
+
+    private void completeLong(long value) {
+        ArrayFrame frame = frames.peek();
+        if (frame == null) {
+            this.deserializer = null;
+            if (longReply) {
+                listener.onLong(value);
+            } else {
+                listener.onReply(value);
+            }
+            return;
+        }
+        if (frame.numbers == null) {
+            complete(value);
+            return;
+        }
+        frame.addNumber(value);
+        if (frame.count == frame.size) {
+            frames.pop();
+            complete(frame.numbers);
+        }
+    }
+
+    private void complete(Object value) {
+        ArrayFrame frame = frames.peek();
+        while (frame != null) {
+            if (frame.stream) {
+                if (error == null) {
+                    listener.onElement(value);
+                } else {
+                    RedisConverter.release(value);
+                }
+            } else if (frame.numbers != null) {
+                if (error == null) {
+                    error = new RuntimeException("The reply element is not a number");
+                }
+                RedisConverter.release(value);
+            } else {
+                frame.add(value);
+            }
+            if (++frame.count < frame.size) {
+                return;
+            }
+            frames.pop();
+            if (frame.type == ATTRIBUTE) {
+                return;
+            }
+            value = frame.getValue();
+            frame = frames.peek();
+        }
+        emit(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void emit(Object value) {
+        Throwable error = this.error;
+        this.error = null;
+        this.deserializer = null;
+        if (pushReply) {
+            pushReply = false;
+            if (error == null && value instanceof List) {
+                listener.onPush((List<Object>) value);
+            } else {
+                RedisConverter.release(value);
+            }
+            return;
+        }
+        if (error == null) {
+            listener.onReply(value);
+        } else {
+            RedisConverter.release(value);
+            listener.onError(error);
+        }
+    }
+
+    private void fail(Throwable cause) {
+        if (error == null) {
+            error = cause;
+        }
+        complete(null);
+    }
+
+    private static boolean isNumber(ByteBuf in, int index, int length) {
+        int end = index + length;
+        boolean negative = index < end && in.getByte(index) == '-';
+        if (negative) {
+            index++;
+        }
+        if (index == end || end - index > MAX_LONG_DIGITS) {
+            return false;
+        }
+        long value = 0;
+        for (; index < end; index++) {
+            int digit = in.getByte(index) - '0';
+            if (digit < 0 || digit > 9 || isOverflow(value, digit)) {
+                return false;
+            }
+            value = value * 10 - digit;
+        }
+        return negative || value != Long.MIN_VALUE;
+    }
+
+    private static long parseLong(ByteBuf in, int index, int length) {
+        if (length == 0) {
+            throw new DecoderException("The reply number is empty");
+        }
+        int end = index + length;
+        boolean negative = in.getByte(index) == '-';
+        if (negative) {
+            index++;
+        }
+        if (index == end) {
+            throw new DecoderException("The reply number has no digits");
+        }
+        long value = 0;
+        for (; index < end; index++) {
+            int digit = in.getByte(index) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new DecoderException("The reply number has an invalid digit");
+            }
+            if (isOverflow(value, digit)) {
+                throw new DecoderException("The reply number is out of range");
+            }
+            value = value * 10 - digit;
+        }
+        if (!negative && value == Long.MIN_VALUE) {
+            throw new DecoderException("The reply number is out of range");
+        }
+        return negative ? value : -value;
+    }
+
+    private static boolean isOverflow(long value, int digit) {
+        return value < Long.MIN_VALUE / 10 || value * 10 < Long.MIN_VALUE + digit;
+    }
+
+    private static Boolean parseBoolean(ByteBuf in, int index, int length) {
+        if (length == 1 && in.getByte(index) == 't') {
+            return Boolean.TRUE;
+        }
+        if (length == 1 && in.getByte(index) == 'f') {
+            return Boolean.FALSE;
+        }
+        throw new DecoderException("The reply boolean is invalid");
+    }
+
+    private static Double parseDouble(String value) {
+        switch (value) {
+            case "inf":
+                return Double.POSITIVE_INFINITY;
+            case "-inf":
+                return Double.NEGATIVE_INFINITY;
+            case "nan":
+                return Double.NaN;
+            default:
+                try {
+                    return Double.valueOf(value);
+                } catch (NumberFormatException ex) {
+                    throw new DecoderException("The reply double is invalid: " + value, ex);
+                }
+        }
+    }
+
+    private static BigInteger parseBigNumber(String value) {
+        try {
+            return new BigInteger(value);
+        } catch (NumberFormatException ex) {
+            throw new DecoderException("The reply big number is invalid: " + value, ex);
+        }
+    }
+
+    private static final class ArrayFrame {
+
+        private final byte type;
+        private final int size;
+        private final boolean stream;
+        private List<Object> values;
+        private Map<Object, Object> map;
+        private Set<Object> set;
+        private long[] numbers;
+        private Object key;
+        private int count;
+
+        private ArrayFrame(byte type, int size, boolean numbers, boolean stream) {
+            this.type = type;
+            this.size = size;
+            this.stream = stream;
+            int capacity = Math.min(size, MAX_INITIAL_CAPACITY);
+            if (numbers) {
+                this.numbers = new long[capacity];
+            } else if (stream || type == ATTRIBUTE) {
+                return;
+            } else if (type == MAP) {
+                this.map = new LinkedHashMap<>(hashCapacity(capacity / 2));
+            } else if (type == SET) {
+                this.set = new LinkedHashSet<>(hashCapacity(capacity));
+            } else {
+                this.values = new ArrayList<>(capacity);
+            }
+        }
+
+        private void add(Object value) {
+            if (values != null) {
+                values.add(value);
+            } else if (set != null) {
+                set.add(value);
+            } else if (map == null) {
+                RedisConverter.release(value);
+            } else if ((count & 1) == 0) {
+                key = value;
+            } else {
+                map.put(key, value);
+                key = null;
+            }
+        }
+
+        private void addNumber(long value) {
+            if (count == numbers.length) {
+                numbers = Arrays.copyOf(numbers, (int) Math.min(size, numbers.length * 2L));
+            }
+            numbers[count++] = value;
+        }
+
+        private Object getValue() {
+            if (stream) {
+                return null;
+            }
+            if (numbers != null) {
+                return numbers;
+            }
+            if (map != null) {
+                return map;
+            }
+            if (set != null) {
+                return set;
+            }
+            return values;
+        }
+
+        private void release() {
+            RedisConverter.release(values);
+            RedisConverter.release(map);
+            RedisConverter.release(set);
+            RedisConverter.release(key);
+        }
+
+        private static Object empty(byte type) {
+            switch (type) {
+                case MAP:
+                    return new LinkedHashMap<>(0);
+                case SET:
+                    return new LinkedHashSet<>(0);
+                default:
+                    return new ArrayList<>(0);
+            }
+        }
+
+        private static int hashCapacity(int expected) {
+            return (int) (expected / 0.75f) + 1;
+        }
+
+    }
+
+    private static final byte SIMPLE_STRING = '+';
+    private static final byte ERROR = '-';
+    private static final byte INTEGER = ':';
+    private static final byte BULK_STRING = '$';
+    private static final byte ARRAY = '*';
+    private static final byte NULL = '_';
+    private static final byte BOOLEAN = '#';
+    private static final byte DOUBLE = ',';
+    private static final byte BIG_NUMBER = '(';
+    private static final byte BLOB_ERROR = '!';
+    private static final byte VERBATIM_STRING = '=';
+    private static final byte MAP = '%';
+    private static final byte SET = '~';
+    private static final byte ATTRIBUTE = '|';
+    private static final byte PUSH = '>';
+    private static final int VERBATIM_PREFIX = 4;
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+    private static final int MAX_LONG_DIGITS = 19;
+    private static final long[] EMPTY_NUMBERS = new long[0];
+
+}
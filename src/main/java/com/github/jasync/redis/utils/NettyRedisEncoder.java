@@ -0,0 +1,156 @@
+package com.github.jasync.redis.utils;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+
+public class NettyRedisEncoder extends MessageToByteEncoder<RedisRequest> {
+
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, RedisRequest request, boolean preferDirect) {
+        int size = HEADER_SIZE;
+        for (int i = 0; i < request.size(); i++) {
+            Object argument = request.getArgument(i);
+            if (argument instanceof String) {
+                size += HEADER_SIZE + ((String) argument).length();
+            } else if (argument instanceof byte[]) {
+                size += HEADER_SIZE + ((byte[]) argument).length;
+            } else {
+                size += HEADER_SIZE + MAX_LONG_DIGITS;
+            }
+        }
+        return ctx.alloc().ioBuffer(size);
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, RedisRequest request, ByteBuf out) {
+        out.writeByte('*');
+        writeLong(out, request.size());
+        out.writeShort(CRLF);
+        for (int i = 0; i < request.size(); i++) {
+            Object argument = request.getArgument(i);
+            if (argument instanceof String) {
+                writeString(out, (String) argument);
+            } else if (argument instanceof byte[]) {
+                writeBytes(out, (byte[]) argument);
+            } else {
+                writeNumber(out, ((Number) argument).longValue());
+            }
+        }
+    }
+
+    private static void writeString(ByteBuf out, String string) {
+        int length = utf8Length(string);
+        out.writeByte('$');
+        writeLong(out, length);
+        out.writeShort(CRLF);
+        if (length == string.length()) {
+            ByteBufUtil.writeAscii(out, string);
+        } else {
+            writeUtf8(out, string);
+        }
+        out.writeShort(CRLF);
+    }
+
+    private static void writeBytes(ByteBuf out, byte[] bytes) {
+        out.writeByte('$');
+        writeLong(out, bytes.length);
+        out.writeShort(CRLF);
+        out.writeBytes(bytes);
+        out.writeShort(CRLF);
+    }
+
+    private static void writeNumber(ByteBuf out, long value) {
+        out.writeByte('$');
+        writeLong(out, digits(value));
+        out.writeShort(CRLF);
+        writeLong(out, value);
+        out.writeShort(CRLF);
+    }
+
+    private static void writeLong(ByteBuf out, long value) {
+        if (value == Long.MIN_VALUE) {
+            ByteBufUtil.writeAscii(out, "-9223372036854775808");
+            return;
+        }
+        int length = digits(value);
+        out.ensureWritable(length);
+        int index = out.writerIndex() + length;
+        out.writerIndex(index);
+        if (value < 0) {
+            out.setByte(index - length, '-');
+            value = -value;
+        }
+        do {
+            out.setByte(--index, (int) ('0' + value % 10));
+            value /= 10;
+        } while (value > 0);
+    }
+
+    private static int digits(long value) {
+        if (value == Long.MIN_VALUE) {
+            return MAX_LONG_DIGITS;
+        }
+        int length = 1;
+        if (value < 0) {
+            length++;
+            value = -value;
+        }
+        while (value > 9) {
+            value /= 10;
+            length++;
+        }
+        return length;
+    }
+
+    private static int utf8Length(String string) {
+        int length = string.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) {
+                bytes += 2;
+                i++;
+            }
+        }
+        return bytes;
+    }
+
+    private static void writeUtf8(ByteBuf out, String string) {
+        int length = string.length();
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                out.writeByte(c);
+            } else if (c < 0x800) {
+                out.writeByte(0xc0 | (c >> 6));
+                out.writeByte(0x80 | (c & 0x3f));
+            } else if (!Character.isSurrogate(c)) {
+                out.writeByte(0xe0 | (c >> 12));
+                out.writeByte(0x80 | ((c >> 6) & 0x3f));
+                out.writeByte(0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, string.charAt(++i));
+                out.writeByte(0xf0 | (codePoint >> 18));
+                out.writeByte(0x80 | ((codePoint >> 12) & 0x3f));
+                out.writeByte(0x80 | ((codePoint >> 6) & 0x3f));
+                out.writeByte(0x80 | (codePoint & 0x3f));
+            } else {
+                out.writeByte('?');
+            }
+        }
+    }
+
+    private static final int HEADER_SIZE = 16;
+    private static final int MAX_LONG_DIGITS = 20;
+    private static final short CRLF = ('\r' << 8) | '\n';
+
+}
@@ -0,0 +1,81 @@
+package com.github.jasync.redis.utils;
+
+import io.netty.util.CharsetUtil;
+
+public final class RedisClusterSlot {
+
+    public static final int SLOTS = 16384;
+
+    private RedisClusterSlot() {
+    }
+
+    public static int getSlot(String key) {
+        int start = 0;
+        int end = key.length();
+        int open = key.indexOf('{');
+        if (open >= 0) {
+            int close = key.indexOf('}', open + 1);
+            if (close > open + 1) {
+                start = open + 1;
+                end = close;
+            }
+        }
+        for (int i = start; i < end; i++) {
+            if (key.charAt(i) >= 0x80) {
+                byte[] bytes = key.substring(start, end).getBytes(CharsetUtil.UTF_8);
+                return getSlot(bytes, 0, bytes.length);
+            }
+        }
+        int crc = 0;
+        for (int i = start; i < end; i++) {
+            crc = update(crc, key.charAt(i));
+        }
+        return crc & (SLOTS - 1);
+    }
+
+    public static int getSlot(byte[] key) {
+        int open = -1;
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] == '{') {
+                open = i;
+                break;
+            }
+        }
+        if (open >= 0) {
+            for (int i = open + 1; i < key.length; i++) {
+                if (key[i] == '}') {
+                    if (i > open + 1) {
+                        return getSlot(key, open + 1, i);
+                    }
+                    break;
+                }
+            }
+        }
+        return getSlot(key, 0, key.length);
+    }
+
+    private static int getSlot(byte[] key, int start, int end) {
+        int crc = 0;
+        for (int i = start; i < end; i++) {
+            crc = update(crc, key[i]);
+        }
+        return crc & (SLOTS - 1);
+    }
+
+    private static int update(int crc, int value) {
+        return ((crc << 8) ^ TABLE[((crc >>> 8) ^ value) & 0xFF]) & 0xFFFF;
+    }
+
+    private static final int[] TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i << 8;
+            for (int j = 0; j < 8; j++) {
+                crc = (crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1;
+            }
+            TABLE[i] = crc & 0xFFFF;
+        }
+    }
+
+}
@@ -1,103 +1,76 @@
 package com.github.jasync.redis.utils;
 
+import com.github.jasync.redis.JavaRedisBufferDeserializer;
 import com.github.jasync.redis.JavaRedisDeserializer;
 import com.github.jasync.redis.JavaRedisSerializer;
-import io.netty.buffer.Unpooled;
-import io.netty.handler.codec.CodecException;
-import io.netty.handler.codec.redis.*;
+import io.netty.buffer.ByteBuf;
 import io.netty.util.CharsetUtil;
+import io.netty.util.ReferenceCounted;
 
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
 
 public class RedisConverter {
 
-    public static RedisMessage createRequest(String command, String key, JavaRedisSerializer serializer, Object... args) {
-        int commands = key == null ? 1 : 2;
+    public static RedisRequest createRequest(String command, String key, JavaRedisSerializer serializer, Object... args) {
+        int size = key == null ? 1 : 2;
         if (args != null) {
-            commands = commands + args.length;
+            size = size + args.length;
         }
-        List<RedisMessage> children = new ArrayList<>(commands);
-        children.add(getStringMessage(command));
+        Object[] arguments = new Object[size];
+        int index = 0;
+        arguments[index++] = command == null ? null : command.toLowerCase(Locale.ROOT);
         if (key != null) {
-            children.add(getStringMessage(key));
+            arguments[index++] = key;
         }
         if (args == null) {
-            return new ArrayRedisMessage(children);
+            return new RedisRequest(arguments);
         }
-        if (serializer == null) {
-            fillArrayStrings(children, args);
-        } else {
-            fillArrayObjects(children, args, serializer);
+        for (Object arg : args) {
+            arguments[index++] = serializer == null ? getArgument(arg) : serializer.serialize(arg);
         }
-        return new ArrayRedisMessage(children);
+        return new RedisRequest(arguments);
     }
 
-    public static Object getResponse(JavaRedisDeserializer deserializer, RedisMessage redisMessage) {
-        if (redisMessage instanceof SimpleStringRedisMessage) {
-            return ((SimpleStringRedisMessage) redisMessage).content();
-        }
-        if (redisMessage instanceof IntegerRedisMessage) {
-            return ((IntegerRedisMessage) redisMessage).value();
-        }
-        if (redisMessage instanceof FullBulkStringRedisMessage) {
-            FullBulkStringRedisMessage fullBulkRedisMessage = (FullBulkStringRedisMessage) redisMessage;
-            if (deserializer != null) {
-                return getObject(deserializer, fullBulkRedisMessage);
-            } else {
-                return getString(fullBulkRedisMessage);
-            }
-        }
-        if (redisMessage instanceof ArrayRedisMessage) {
-            return getAggregatedRedisResponse(deserializer, (ArrayRedisMessage) redisMessage);
+    public static Object getBulkString(JavaRedisDeserializer deserializer, ByteBuf buffer, int index, int length) {
+        if (deserializer == null) {
+            return buffer.toString(index, length, CharsetUtil.UTF_8);
         }
-        if (redisMessage instanceof ErrorRedisMessage) {
-            throw new RuntimeException(((ErrorRedisMessage) redisMessage).toString());
+        if (deserializer instanceof JavaRedisBufferDeserializer) {
+            return ((JavaRedisBufferDeserializer) deserializer).deserialize(buffer.slice(index, length).asReadOnly());
         }
-        throw new CodecException("Unknown message type: " + redisMessage.getClass().getName());
-    }
-
-    private static List<Object> getAggregatedRedisResponse(JavaRedisDeserializer deserializer, ArrayRedisMessage msg) {
-        List<Object> list = new ArrayList<>(msg.children().size());
-        for (RedisMessage child : msg.children()) {
-            list.add(getResponse(deserializer, child));
-        }
-        return list;
-    }
-
-    private static Object getObject(JavaRedisDeserializer deserializer, FullBulkStringRedisMessage msg) {
-        byte[] bytes = new byte[msg.content().readableBytes()];
-        int readerIndex = msg.content().readerIndex();
-        msg.content().getBytes(readerIndex, bytes);
+        byte[] bytes = new byte[length];
+        buffer.getBytes(index, bytes);
         return deserializer.deserialize(bytes);
     }
 
-    private static String getString(FullBulkStringRedisMessage msg) {
-        if (msg.isNull()) {
-            return null;
+    public static void release(Object value) {
+        if (value instanceof ReferenceCounted) {
+            ReferenceCounted counted = (ReferenceCounted) value;
+            if (counted.refCnt() > 0) {
+                counted.release();
+            }
+        } else if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                release(element);
+            }
+        } else if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                release(entry.getKey());
+                release(entry.getValue());
+            }
         }
-        return msg.content().toString(CharsetUtil.UTF_8);
     }
 
-    private static void fillArrayStrings(List<RedisMessage> children, Object[] args) {
-        for (Object arg : args) {
-            children.add(getStringMessage(objectString(arg)));
+    private static Object getArgument(Object arg) {
+        if (arg instanceof String || arg instanceof byte[]) {
+            return arg;
         }
-    }
-
-    private static void fillArrayObjects(List<RedisMessage> children, Object[] args, JavaRedisSerializer serializer) {
-        for (Object arg : args) {
-            children.add(getObjectMessage(arg, serializer));
+        if (arg instanceof Long || arg instanceof Integer || arg instanceof Short || arg instanceof Byte) {
+            return arg;
         }
-    }
-
-    private static RedisMessage getStringMessage(String string) {
-        return new FullBulkStringRedisMessage(Unpooled.wrappedBuffer(string.getBytes(StandardCharsets.UTF_8)));
-    }
-
-    private static RedisMessage getObjectMessage(Object arg, JavaRedisSerializer serializer) {
-        return new FullBulkStringRedisMessage(Unpooled.wrappedBuffer(serializer.serialize(arg)));
+        return objectString(arg);
     }
 
     private static String objectString(Object arg) {
@@ -0,0 +1,27 @@
+package com.github.jasync.redis.utils;
+
+import com.github.jasync.redis.JavaRedisDeserializer;
+
+import java.util.List;
+
+public interface RedisReplyListener {
+
+    JavaRedisDeserializer getReplyDeserializer();
+
+    boolean isLongReply();
+
+    boolean isStreamReply();
+
+    boolean isReadSuspended();
+
+    void onElement(Object element);
+
+    void onReply(Object reply);
+
+    void onLong(long reply);
+
+    void onError(Throwable error);
+
+    void onPush(List<Object> message);
+
+}
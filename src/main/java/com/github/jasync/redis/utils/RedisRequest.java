@@ -0,0 +1,30 @@
+package com.github.jasync.redis.utils;
+
+public final class RedisRequest {
+
+    private final Object[] arguments;
+
+    RedisRequest(Object[] arguments) {
+        this.arguments = arguments;
+    }
+
+    public int size() {
+        return arguments.length;
+    }
+
+    public String getName() {
+        return (String) arguments[0];
+    }
+
+    public Object getArgument(int index) {
+        return arguments[index];
+    }
+
+    public RedisRequest withCommand(String command, String key) {
+        Object[] replaced = arguments.clone();
+        replaced[0] = command;
+        replaced[1] = key;
+        return new RedisRequest(replaced);
+    }
+
+}
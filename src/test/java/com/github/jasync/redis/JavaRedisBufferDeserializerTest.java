@@ -0,0 +1,37 @@
+package com.github.jasync.redis;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class JavaRedisBufferDeserializerTest {
+
+    @Test
+    public void copiesSmallValuesOutOfTheReceiveBuffer() {
+        ByteBuf received = Unpooled.buffer(JavaRedisBufferDeserializer.MIN_RETAINED_SIZE * 2);
+        received.writeBytes("$3\r\nbar\r\n".getBytes(CharsetUtil.US_ASCII));
+        ByteBuf value = (ByteBuf) JavaRedisBufferDeserializer.RETAINED.deserialize(received.slice(4, 3).asReadOnly());
+
+        assertEquals(1, received.refCnt());
+        received.release();
+        assertEquals("bar", value.toString(CharsetUtil.US_ASCII));
+        value.release();
+    }
+
+    @Test
+    public void retainsLargeValuesInTheReceiveBuffer() {
+        ByteBuf received = Unpooled.buffer(JavaRedisBufferDeserializer.MIN_RETAINED_SIZE);
+        received.writeZero(JavaRedisBufferDeserializer.MIN_RETAINED_SIZE);
+        ByteBuf value = (ByteBuf) JavaRedisBufferDeserializer.RETAINED.deserialize(received.slice().asReadOnly());
+
+        assertEquals(2, received.refCnt());
+        assertEquals(JavaRedisBufferDeserializer.MIN_RETAINED_SIZE, value.readableBytes());
+        value.release();
+        assertEquals(1, received.refCnt());
+        received.release();
+    }
+
+}
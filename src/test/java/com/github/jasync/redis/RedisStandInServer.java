@@ -0,0 +1,458 @@
+package com.github.jasync.redis;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.DecoderException;
+import com.github.jasync.redis.utils.RedisClusterSlot;
+import io.netty.util.AttributeKey;
+import io.netty.util.CharsetUtil;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.net.InetSocketAddress;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class RedisStandInServer implements AutoCloseable {
+
+    private final EventLoopGroup group;
+    private final Channel serverChannel;
+    private final ConcurrentHashMap<String, byte[]> values;
+    private final ConcurrentHashMap<String, byte[]> scripts;
+    private final ConcurrentHashMap<String, AtomicLong> counts;
+    private final ConcurrentHashMap<Integer, RedisStandInServer> migrations;
+    private final RedisStandInServer[] owners;
+    private final RedisStandInServer[] reported;
+    private volatile boolean cluster;
+
+    public RedisStandInServer() throws InterruptedException {
+        this.group = new NioEventLoopGroup(0, new DefaultThreadFactory(THREAD_POOL_NAME, true));
+        this.values = new ConcurrentHashMap<>();
+        this.scripts = new ConcurrentHashMap<>();
+        this.counts = new ConcurrentHashMap<>();
+        this.migrations = new ConcurrentHashMap<>();
+        this.owners = new RedisStandInServer[RedisClusterSlot.SLOTS];
+        this.reported = new RedisStandInServer[RedisClusterSlot.SLOTS];
+        RequestHandler handler = new RequestHandler();
+        try {
+            this.serverChannel = new ServerBootstrap()
+                    .group(group)
+                    .channel(NioServerSocketChannel.class)
+                    .childOption(ChannelOption.TCP_NODELAY, true)
+                    .childHandler(new ChannelInitializer<SocketChannel>() {
+                        @Override
+                        protected void initChannel(SocketChannel ch) {
+                            ch.pipeline().addLast(new RequestDecoder(), handler);
+                        }
+                    })
+                    .bind(HOST, 0).sync().channel();
+        } catch (InterruptedException ex) {
+            group.shutdownGracefully();
+            throw ex;
+        }
+    }
+
+    public String getHost() {
+        return HOST;
+    }
+
+    public int getPort() {
+        return ((InetSocketAddress) serverChannel.localAddress()).getPort();
+    }
+
+    public void assignSlots(int first, int last, RedisStandInServer owner) {
+        for (int slot = first; slot <= last; slot++) {
+            owners[slot] = owner;
+            reported[slot] = owner;
+        }
+        cluster = true;
+    }
+
+    public void reportSlots(int first, int last, RedisStandInServer owner) {
+        for (int slot = first; slot <= last; slot++) {
+            reported[slot] = owner;
+        }
+    }
+
+    public void migrateSlot(int slot, RedisStandInServer target) {
+        migrations.put(slot, target);
+    }
+
+    public long getCount(String command) {
+        AtomicLong count = counts.get(command);
+        return count == null ? 0 : count.get();
+    }
+
+    @Override
+    public void close() {
+        serverChannel.close().syncUninterruptibly();
+        group.shutdownGracefully(0, SHUTDOWN_TIMEOUT, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    private ByteBuf execute(ChannelHandlerContext ctx, byte[][] request) {
+        ByteBufAllocator alloc = ctx.alloc();
+        String command = new String(request[0], CharsetUtil.US_ASCII).toLowerCase();
+        counts.computeIfAbsent(command, ignored -> new AtomicLong()).incrementAndGet();
+        boolean asking = ctx.channel().attr(ASKING).getAndSet(null) != null;
+        if (command.equals("asking")) {
+            ctx.channel().attr(ASKING).set(Boolean.TRUE);
+            return simple(alloc, "+OK");
+        }
+        if (cluster) {
+            if (command.equals("cluster")) {
+                return slots(alloc);
+            }
+            ByteBuf redirect = redirect(alloc, command, request, asking);
+            if (redirect != null) {
+                return redirect;
+            }
+        }
+        switch (command) {
+            case "ping":
+                return simple(alloc, "+PONG");
+            case "echo":
+                return request.length == 2 ? bulk(alloc, request[1]) : arity(alloc, command);
+            case "get":
+                return request.length == 2 ? bulk(alloc, values.get(key(request))) : arity(alloc, command);
+            case "set":
+                if (request.length < 3) {
+                    return arity(alloc, command);
+                }
+                values.put(key(request), request[2]);
+                return simple(alloc, "+OK");
+            case "incr":
+                if (request.length != 2) {
+                    return arity(alloc, command);
+                }
+                byte[] value = values.compute(key(request), (key, current) -> String.valueOf(
+                        current == null ? 1 : Long.parseLong(new String(current, CharsetUtil.US_ASCII)) + 1).getBytes(CharsetUtil.US_ASCII));
+                return simple(alloc, ':' + new String(value, CharsetUtil.US_ASCII));
+            case "mget":
+                if (request.length < 2) {
+                    return arity(alloc, command);
+                }
+                ByteBuf reply = simple(alloc, "*" + (request.length - 1));
+                for (int i = 1; i < request.length; i++) {
+                    ByteBuf element = bulk(alloc, values.get(new String(request[i], CharsetUtil.UTF_8)));
+                    reply.writeBytes(element);
+                    element.release();
+                }
+                return reply;
+            case "mset":
+                if (request.length < 3 || request.length % 2 == 0) {
+                    return arity(alloc, command);
+                }
+                for (int i = 1; i < request.length; i += 2) {
+                    values.put(new String(request[i], CharsetUtil.UTF_8), request[i + 1]);
+                }
+                return simple(alloc, "+OK");
+            case "exists":
+                long found = 0;
+                for (int i = 1; i < request.length; i++) {
+                    if (values.containsKey(new String(request[i], CharsetUtil.UTF_8))) {
+                        found++;
+                    }
+                }
+                return simple(alloc, ":" + found);
+            case "del":
+                long removed = 0;
+                for (int i = 1; i < request.length; i++) {
+                    if (values.remove(new String(request[i], CharsetUtil.UTF_8)) != null) {
+                        removed++;
+                    }
+                }
+                return simple(alloc, ":" + removed);
+            case "eval":
+                if (request.length < 3) {
+                    return arity(alloc, command);
+                }
+                scripts.put(sha1(request[1]), request[1]);
+                return bulk(alloc, request[1]);
+            case "evalsha":
+                if (request.length < 3) {
+                    return arity(alloc, command);
+                }
+                byte[] script = scripts.get(key(request));
+                return script == null ? simple(alloc, "-NOSCRIPT No matching script. Please use EVAL.") : bulk(alloc, script);
+            case "script":
+                return script(alloc, request);
+            case "scan":
+                return request.length < 2 ? arity(alloc, command) : scan(alloc, request);
+            case "debug":
+                if (request.length != 3) {
+                    return arity(alloc, command);
+                }
+                long delay = (long) (Double.parseDouble(new String(request[2], CharsetUtil.US_ASCII)) * 1000);
+                ctx.executor().schedule(() -> ctx.writeAndFlush(simple(alloc, "+OK"), ctx.voidPromise()), delay, TimeUnit.MILLISECONDS);
+                return null;
+            case "subscribe":
+                ByteBuf subscribed = alloc.ioBuffer();
+                for (int i = 1; i < request.length; i++) {
+                    ByteBuf element = simple(alloc, "*3\r\n$9\r\nsubscribe");
+                    subscribed.writeBytes(element);
+                    element.release();
+                    element = bulk(alloc, request[i]);
+                    subscribed.writeBytes(element);
+                    element.release();
+                    element = simple(alloc, ":" + i);
+                    subscribed.writeBytes(element);
+                    element.release();
+                }
+                return subscribed;
+            case "select":
+            case "readonly":
+                return simple(alloc, "+OK");
+            default:
+                return simple(alloc, "-ERR unknown command '" + command + "'");
+        }
+    }
+
+    private ByteBuf scan(ByteBufAllocator alloc, byte[][] request) {
+        int cursor = Integer.parseInt(new String(request[1], CharsetUtil.US_ASCII));
+        int count = DEFAULT_SCAN_COUNT;
+        for (int i = 2; i + 1 < request.length; i += 2) {
+            if (new String(request[i], CharsetUtil.US_ASCII).equalsIgnoreCase("count")) {
+                count = Integer.parseInt(new String(request[i + 1], CharsetUtil.US_ASCII));
+            }
+        }
+        List<String> keys = new ArrayList<>(values.keySet());
+        keys.sort(null);
+        int last = Math.min(cursor + count, keys.size());
+        ByteBuf reply = simple(alloc, "*2");
+        ByteBuf element = bulk(alloc, String.valueOf(last == keys.size() ? 0 : last).getBytes(CharsetUtil.US_ASCII));
+        reply.writeBytes(element);
+        element.release();
+        element = simple(alloc, "*" + Math.max(last - cursor, 0));
+        reply.writeBytes(element);
+        element.release();
+        for (int i = cursor; i < last; i++) {
+            element = bulk(alloc, keys.get(i).getBytes(CharsetUtil.UTF_8));
+            reply.writeBytes(element);
+            element.release();
+        }
+        return reply;
+    }
+
+    private ByteBuf script(ByteBufAllocator alloc, byte[][] request) {
+        String subcommand = request.length < 2 ? "" : new String(request[1], CharsetUtil.US_ASCII).toLowerCase();
+        switch (subcommand) {
+            case "load":
+                if (request.length != 3) {
+                    return arity(alloc, "script|load");
+                }
+                String digest = sha1(request[2]);
+                scripts.put(digest, request[2]);
+                return bulk(alloc, digest.getBytes(CharsetUtil.US_ASCII));
+            case "flush":
+                scripts.clear();
+                return simple(alloc, "+OK");
+            default:
+                return simple(alloc, "-ERR unknown subcommand '" + subcommand + "'");
+        }
+    }
+
+    private ByteBuf redirect(ByteBufAllocator alloc, String command, byte[][] request, boolean asking) {
+        int first = 1;
+        int last = command.equals("get") || command.equals("set") || command.equals("incr") ? 2 : request.length;
+        if (command.equals("eval") || command.equals("evalsha")) {
+            int keys = request.length < 3 ? 0 : Integer.parseInt(new String(request[2], CharsetUtil.US_ASCII));
+            first = 3;
+            last = Math.min(first + keys, request.length);
+        } else if (!KEYED_COMMANDS.contains(command)) {
+            return null;
+        }
+        if (request.length <= first || last <= first) {
+            return null;
+        }
+        int step = command.equals("mset") ? 2 : 1;
+        int slot = RedisClusterSlot.getSlot(request[first]);
+        boolean missing = false;
+        for (int i = first; i < last; i += step) {
+            if (RedisClusterSlot.getSlot(request[i]) != slot) {
+                return simple(alloc, "-CROSSSLOT Keys in request don't hash to the same slot");
+            }
+            missing |= !values.containsKey(new String(request[i], CharsetUtil.UTF_8));
+        }
+        RedisStandInServer owner = owners[slot];
+        if (owner == null) {
+            return simple(alloc, "-CLUSTERDOWN Hash slot not served");
+        }
+        if (owner != this) {
+            return asking ? null : simple(alloc, "-MOVED " + slot + " " + owner.getHost() + ":" + owner.getPort());
+        }
+        RedisStandInServer target = migrations.get(slot);
+        if (target != null && missing) {
+            return simple(alloc, "-ASK " + slot + " " + target.getHost() + ":" + target.getPort());
+        }
+        return null;
+    }
+
+    private ByteBuf slots(ByteBufAllocator alloc) {
+        List<int[]> ranges = new ArrayList<>();
+        List<RedisStandInServer> servers = new ArrayList<>();
+        for (int slot = 0; slot < RedisClusterSlot.SLOTS; slot++) {
+            RedisStandInServer owner = reported[slot];
+            if (owner == null) {
+                continue;
+            }
+            int last = ranges.size() - 1;
+            if (last >= 0 && servers.get(last) == owner && ranges.get(last)[1] == slot - 1) {
+                ranges.get(last)[1] = slot;
+            } else {
+                ranges.add(new int[]{slot, slot});
+                servers.add(owner);
+            }
+        }
+        StringBuilder reply = new StringBuilder("*").append(ranges.size()).append("\r\n");
+        for (int i = 0; i < ranges.size(); i++) {
+            String host = servers.get(i).getHost();
+            reply.append("*3\r\n:").append(ranges.get(i)[0]).append("\r\n:").append(ranges.get(i)[1]).append("\r\n")
+                    .append("*2\r\n$").append(host.length()).append("\r\n").append(host).append("\r\n:")
+                    .append(servers.get(i).getPort()).append("\r\n");
+        }
+        ByteBuf buf = alloc.ioBuffer(reply.length());
+        ByteBufUtil.writeAscii(buf, reply);
+        return buf;
+    }
+
+    private static String sha1(byte[] script) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1").digest(script);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return ByteBufUtil.hexDump(digest);
+    }
+
+    private static String key(byte[][] request) {
+        return new String(request[1], CharsetUtil.UTF_8);
+    }
+
+    private static ByteBuf arity(ByteBufAllocator alloc, String command) {
+        return simple(alloc, "-ERR wrong number of arguments for '" + command + "' command");
+    }
+
+    private static ByteBuf simple(ByteBufAllocator alloc, String line) {
+        ByteBuf reply = alloc.ioBuffer(line.length() + 2);
+        ByteBufUtil.writeAscii(reply, line);
+        reply.writeShort(CRLF);
+        return reply;
+    }
+
+    private static ByteBuf bulk(ByteBufAllocator alloc, byte[] value) {
+        if (value == null) {
+            return simple(alloc, "$-1");
+        }
+        ByteBuf reply = alloc.ioBuffer(value.length + 16);
+        reply.writeByte('$');
+        ByteBufUtil.writeAscii(reply, String.valueOf(value.length));
+        reply.writeShort(CRLF);
+        reply.writeBytes(value);
+        reply.writeShort(CRLF);
+        return reply;
+    }
+
+    private static final class RequestDecoder extends ByteToMessageDecoder {
+
+        @Override
+        protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+            while (in.isReadable()) {
+                int readerIndex = in.readerIndex();
+                byte[][] request = readRequest(in);
+                if (request == null) {
+                    in.readerIndex(readerIndex);
+                    return;
+                }
+                out.add(request);
+            }
+        }
+
+        private static byte[][] readRequest(ByteBuf in) {
+            int count = readLength(in, '*');
+            if (count < 1) {
+                return null;
+            }
+            byte[][] request = new byte[count][];
+            for (int i = 0; i < count; i++) {
+                int length = readLength(in, '$');
+                if (length < 0 || in.readableBytes() < length + 2) {
+                    return null;
+                }
+                request[i] = new byte[length];
+                in.readBytes(request[i]);
+                in.skipBytes(2);
+            }
+            return request;
+        }
+
+        private static int readLength(ByteBuf in, char type) {
+            int end = in.indexOf(in.readerIndex(), in.writerIndex(), (byte) '\n');
+            if (end < 0) {
+                return INCOMPLETE;
+            }
+            if (in.readByte() != type) {
+                throw new DecoderException("The request can not be other then an array of bulk strings");
+            }
+            int length = 0;
+            while (in.readerIndex() < end - 1) {
+                length = length * 10 + in.readByte() - '0';
+            }
+            in.readerIndex(end + 1);
+            return length;
+        }
+
+    }
+
+    @ChannelHandler.Sharable
+    private final class RequestHandler extends SimpleChannelInboundHandler<byte[][]> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, byte[][] request) {
+            ByteBuf reply = execute(ctx, request);
+            if (reply != null) {
+                ctx.write(reply, ctx.voidPromise());
+            }
+        }
+
+        @Override
+        public void channelReadComplete(ChannelHandlerContext ctx) {
+            ctx.flush();
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            cause.printStackTrace();
+            ctx.close();
+        }
+
+    }
+
+    private static final String HOST = "127.0.0.1";
+    private static final String THREAD_POOL_NAME = "redis-stand-in";
+    private static final int INCOMPLETE = -1;
+    private static final int SHUTDOWN_TIMEOUT = 5;
+    private static final int DEFAULT_SCAN_COUNT = 10;
+    private static final short CRLF = ('\r' << 8) | '\n';
+    private static final AttributeKey<Boolean> ASKING = AttributeKey.valueOf("asking");
+    private static final List<String> KEYED_COMMANDS = Arrays.asList("get", "set", "incr", "mget", "mset", "exists", "del");
+
+}
@@ -0,0 +1,212 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.RedisOverloadException;
+import com.github.jasync.redis.RedisOverloadPolicy;
+import com.github.jasync.redis.RedisTimeoutException;
+import io.netty.util.concurrent.FastThreadLocalThread;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncRedisAdmissionTest {
+
+    @Test
+    public void failFastRejectsAboveTheLimit() {
+        AsyncRedisAdmission admission = new AsyncRedisAdmission(RedisOverloadPolicy.FAIL_FAST, 2, 100);
+        assertTrue(admission.acquire().isDone());
+        assertTrue(admission.acquire().isDone());
+        assertRejected(admission);
+        assertEquals(1, admission.getRejectedCommands());
+
+        admission.release(1000, null);
+
+        assertTrue(admission.acquire().isDone());
+        assertEquals(2, admission.getPendingCommands());
+    }
+
+    @Test
+    public void blockWaitsForARelease() throws Exception {
+        AsyncRedisAdmission admission = new AsyncRedisAdmission(RedisOverloadPolicy.BLOCK, 1, 5000);
+        admission.acquire();
+        CompletableFuture<Void> admitted = new CompletableFuture<>();
+        Thread caller = new Thread(() -> {
+            admission.acquire();
+            admitted.complete(null);
+        });
+        caller.start();
+        Thread.sleep(50);
+        assertFalse(admitted.isDone());
+
+        admission.release(1000, null);
+
+        admitted.get(5, TimeUnit.SECONDS);
+        caller.join();
+        assertEquals(1, admission.getPendingCommands());
+    }
+
+    @Test
+    public void blockRejectsAfterTheMaxDelay() {
+        AsyncRedisAdmission admission = new AsyncRedisAdmission(RedisOverloadPolicy.BLOCK, 1, 50);
+        admission.acquire();
+        long start = System.nanoTime();
+        assertRejected(admission);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(1, admission.getPendingCommands());
+    }
+
+    @Test
+    public void blockQueuesOnNettyThreads() throws Exception {
+        AsyncRedisAdmission admission = new AsyncRedisAdmission(RedisOverloadPolicy.BLOCK, 1, 5000);
+        admission.acquire();
+        AtomicReference<CompletableFuture<Void>> waiter = new AtomicReference<>();
+        Thread loop = new FastThreadLocalThread(() -> waiter.set(admission.acquire()));
+        loop.start();
+        loop.join(5000);
+
+        assertFalse(waiter.get().isDone());
+        admission.release(1000, null);
+        assertTrue(waiter.get().isDone());
+    }
+
+    @Test
+    public void asyncQueuesUntilARelease() {
+        AsyncRedisAdmission admission = new AsyncRedisAdmission(RedisOverloadPolicy.ASYNC, 1, 5000);
+        admission.acquire();
+        CompletableFuture<Void> waiter = admission.acquire();
+        assertFalse(waiter.isDone());
+        assertEquals(2, admission.getPendingCommands());
+
+        admission.release(1000, null);
+
+        assertTrue(waiter.isDone());
+        assertEquals(1, admission.getPendingCommands());
+    }
+
+    @Test
+    public void asyncRejectsAFullQueue() {
+        AsyncRedisAdmission admission = new AsyncRedisAdmission(RedisOverloadPolicy.ASYNC, 1, 5000);
+        admission.acquire();
+        admission.acquire();
+        assertRejected(admission);
+    }
+
+    @Test
+    public void timedOutWaitersLeaveTheQueue() throws Exception {
+        AsyncRedisAdmission admission = new AsyncRedisAdmission(RedisOverloadPolicy.ASYNC, 2, 50);
+        admission.acquire();
+        admission.acquire();
+        CompletableFuture<Void> first = admission.acquire();
+        CompletableFuture<Void> second = admission.acquire();
+        assertRejected(admission);
+
+        assertTimedOut(first);
+        assertTimedOut(second);
+        awaitPending(admission, 2);
+
+        CompletableFuture<Void> next = admission.acquire();
+        admission.release(1000, null);
+        assertTrue(next.isDone());
+        assertEquals(2, admission.getPendingCommands());
+    }
+
+    @Test
+    public void cancelledWaitersLeaveTheQueue() {
+        AsyncRedisAdmission admission = new AsyncRedisAdmission(RedisOverloadPolicy.ASYNC, 1, 5000);
+        admission.acquire();
+        admission.acquire().cancel(false);
+        assertEquals(1, admission.getPendingCommands());
+
+        CompletableFuture<Void> next = admission.acquire();
+        admission.release(1000, null);
+        assertTrue(next.isDone());
+    }
+
+    @Test
+    public void adaptiveLimitGrowsWhileLatencyIsLow() {
+        AsyncRedisAdmission admission = new AsyncRedisAdmission(RedisOverloadPolicy.ADAPTIVE, 100, 100);
+        int initial = admission.getLimit();
+        for (int i = 0; i < 10; i++) {
+            fill(admission);
+            admission.release(FAST, null);
+        }
+        assertEquals(initial + 10, admission.getLimit());
+    }
+
+    @Test
+    public void adaptiveLimitShrinksOnSlowRepliesAndTimeouts() throws Exception {
+        AsyncRedisAdmission admission = new AsyncRedisAdmission(RedisOverloadPolicy.ADAPTIVE, 100, 100);
+        fill(admission);
+        admission.release(FAST, null);
+        int limit = admission.getLimit();
+
+        Thread.sleep(1);
+        admission.release(SLOW, null);
+        assertEquals((int) (limit * 0.9), admission.getLimit());
+
+        limit = admission.getLimit();
+        Thread.sleep(1);
+        admission.release(FAST, new RedisTimeoutException("timeout"));
+        assertEquals((int) (limit * 0.9), admission.getLimit());
+    }
+
+    @Test
+    public void adaptiveLimitStaysWithinBounds() throws Exception {
+        AsyncRedisAdmission admission = new AsyncRedisAdmission(RedisOverloadPolicy.ADAPTIVE, 22, 100);
+        for (int i = 0; i < 10; i++) {
+            fill(admission);
+            admission.release(FAST, null);
+        }
+        assertEquals(22, admission.getLimit());
+        for (int i = 0; i < 100; i++) {
+            Thread.sleep(1);
+            admission.release(SLOW, null);
+        }
+        assertEquals(1, admission.getLimit());
+    }
+
+    private static void fill(AsyncRedisAdmission admission) {
+        try {
+            while (true) {
+                admission.acquire();
+            }
+        } catch (RedisOverloadException ignored) {
+        }
+    }
+
+    private static void awaitPending(AsyncRedisAdmission admission, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (admission.getPendingCommands() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, admission.getPendingCommands());
+    }
+
+    private static void assertRejected(AsyncRedisAdmission admission) {
+        try {
+            admission.acquire();
+            fail("The command has been admitted");
+        } catch (RedisOverloadException ignored) {
+        }
+    }
+
+    private static void assertTimedOut(CompletableFuture<Void> waiter) throws Exception {
+        try {
+            waiter.get(5, TimeUnit.SECONDS);
+            fail("The waiter has been admitted");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof RedisOverloadException);
+        }
+    }
+
+    private static final long FAST = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+}
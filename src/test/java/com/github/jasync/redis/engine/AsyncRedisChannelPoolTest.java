@@ -0,0 +1,44 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.AsyncRedisClient;
+import com.github.jasync.redis.RedisStandInServer;
+import org.junit.Test;
+
+import java.net.ConnectException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncRedisChannelPoolTest {
+
+    @Test
+    public void reportsTheConnectFailureThroughTheAcquireTimeout() throws Exception {
+        RedisStandInServer server = new RedisStandInServer();
+        server.close();
+        AsyncRedisClient client = AsyncRedisBuilder.start(AsyncRedisConfiguration.withDefault()
+                .withHost(server.getHost())
+                .withPort(server.getPort())
+                .withMinActiveChannels(0)
+                .withReconnectDelay(RECONNECT_DELAY, RECONNECT_DELAY, TimeUnit.MILLISECONDS)
+                .withAcquireChannelTimeout(ACQUIRE_TIMEOUT, TimeUnit.MILLISECONDS)
+                .withCommandTimeout(COMMAND_TIMEOUT, TimeUnit.MILLISECONDS), 5, TimeUnit.SECONDS);
+        try {
+            client.runCommand("get", "foo").get(5, TimeUnit.SECONDS);
+            fail("The command has been completed");
+        } catch (ExecutionException ex) {
+            assertTrue(String.valueOf(ex.getCause()), ex.getCause() instanceof TimeoutException);
+            assertTrue(String.valueOf(ex.getCause().getCause()), ex.getCause().getCause() instanceof ConnectException);
+        } finally {
+            client.shutdown();
+        }
+        assertTrue(client.getStatistics().getReconnects() > 0);
+    }
+
+    private static final long RECONNECT_DELAY = 10;
+    private static final long ACQUIRE_TIMEOUT = 200;
+    private static final long COMMAND_TIMEOUT = 2000;
+
+}
@@ -0,0 +1,35 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.RedisReport;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AsyncRedisChannelTest {
+
+    @Test
+    public void forgetsCommandsWhoseWriteHasFailed() {
+        EmbeddedChannel nettyChannel = new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+                promise.setFailure(new IOException("The write has failed"));
+            }
+        });
+        AsyncRedisChannel channel = new AsyncRedisChannel(nettyChannel, true, -1);
+        CompletableFuture<RedisReport> future = new CompletableFuture<>();
+        channel.send(new AsyncRedisCommands(AsyncRedisClientImpl.createCommands("get", "foo", null), true, future));
+
+        assertTrue(future.isCompletedExceptionally());
+        assertEquals(0, channel.getPendingCommands());
+        nettyChannel.finishAndReleaseAll();
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.RedisStandInServer;
+import com.github.jasync.redis.RedisTimeoutException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncRedisClientImplTest {
+
+    private RedisStandInServer server;
+    private AsyncRedisClientImpl client;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        server = new RedisStandInServer();
+        client = (AsyncRedisClientImpl) AsyncRedisBuilder.start(AsyncRedisConfiguration.withDefault()
+                .withHost(server.getHost())
+                .withPort(server.getPort())
+                .withCommandTimeout(COMMAND_TIMEOUT, TimeUnit.MILLISECONDS), 5, TimeUnit.SECONDS);
+    }
+
+    @After
+    public void tearDown() {
+        client.shutdown();
+        server.close();
+    }
+
+    @Test
+    public void appliesTheQueryTimeoutToLongQueries() throws Exception {
+        assertTimedOut(client.runLongQuery(AsyncRedisClientImpl.createCommands("debug", "sleep", null, "1"), value -> { }, QUERY_TIMEOUT));
+    }
+
+    @Test
+    public void appliesTheQueryTimeoutToLongArrayQueries() throws Exception {
+        assertTimedOut(client.runLongArrayQuery(AsyncRedisClientImpl.createCommands("debug", "sleep", null, "1"), QUERY_TIMEOUT));
+    }
+
+    private static void assertTimedOut(CompletableFuture<?> future) throws InterruptedException {
+        long started = System.nanoTime();
+        try {
+            future.get();
+            fail("The query has been completed");
+        } catch (ExecutionException ex) {
+            assertTrue(String.valueOf(ex.getCause()), ex.getCause() instanceof RedisTimeoutException);
+            assertEquals("The command has not been completed in " + QUERY_TIMEOUT + " milliseconds", ex.getCause().getMessage());
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < COMMAND_TIMEOUT);
+    }
+
+    private static final long COMMAND_TIMEOUT = 5000;
+    private static final long QUERY_TIMEOUT = 100;
+
+}
@@ -0,0 +1,151 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.AsyncRedisClient;
+import com.github.jasync.redis.RedisStandInServer;
+import com.github.jasync.redis.utils.RedisClusterSlot;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncRedisClusterClientTest {
+
+    private RedisStandInServer first;
+    private RedisStandInServer second;
+    private AsyncRedisClient client;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        first = new RedisStandInServer();
+        second = new RedisStandInServer();
+    }
+
+    @After
+    public void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void followsMovedAndPatchesTheSlotMap() throws Exception {
+        first.assignSlots(0, RedisClusterSlot.SLOTS - 1, first);
+        first.assignSlots(SLOT, SLOT, second);
+        first.reportSlots(SLOT, SLOT, first);
+        second.assignSlots(0, RedisClusterSlot.SLOTS - 1, first);
+        second.assignSlots(SLOT, SLOT, second);
+        client = start(5);
+
+        assertEquals("OK", client.runCommand("set", KEY, "bar").get().getString());
+        assertEquals("bar", client.runCommand("get", KEY).get().getString());
+
+        assertEquals(1, first.getCount("set"));
+        assertEquals(0, first.getCount("get"));
+        assertEquals(1, second.getCount("set"));
+        assertEquals(1, second.getCount("get"));
+    }
+
+    @Test
+    public void sendsAskingOnlyForTheAskedCommand() throws Exception {
+        first.assignSlots(0, RedisClusterSlot.SLOTS - 1, first);
+        first.migrateSlot(SLOT, second);
+        second.assignSlots(0, RedisClusterSlot.SLOTS - 1, first);
+        client = start(5);
+
+        assertEquals("OK", client.runCommand("set", KEY, "bar").get().getString());
+        assertEquals("bar", client.runCommand("get", KEY).get().getString());
+
+        assertEquals(1, first.getCount("set"));
+        assertEquals(1, first.getCount("get"));
+        assertEquals(2, second.getCount("asking"));
+        assertEquals(1, second.getCount("set"));
+        assertEquals(1, second.getCount("get"));
+    }
+
+    @Test
+    public void loadsTheScriptBeforeAsking() throws Exception {
+        first.assignSlots(0, RedisClusterSlot.SLOTS - 1, first);
+        first.migrateSlot(SLOT, second);
+        second.assignSlots(0, RedisClusterSlot.SLOTS - 1, first);
+        client = start(5);
+
+        assertEquals(SCRIPT, client.runScript(SCRIPT, 1, KEY).get().getString());
+
+        assertEquals(1, first.getCount("evalsha"));
+        assertEquals(1, second.getCount("asking"));
+        assertEquals(1, second.getCount("script"));
+        assertEquals(1, second.getCount("evalsha"));
+    }
+
+    @Test
+    public void stopsAfterTheRedirectLimit() throws Exception {
+        first.assignSlots(0, RedisClusterSlot.SLOTS - 1, first);
+        first.assignSlots(SLOT, SLOT, second);
+        second.assignSlots(0, RedisClusterSlot.SLOTS - 1, first);
+        second.reportSlots(SLOT, SLOT, second);
+        client = start(3);
+
+        try {
+            client.runCommand("get", KEY).get();
+            fail("The command has been completed");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause().getMessage(), ex.getCause().getMessage().startsWith("MOVED " + SLOT + " "));
+        }
+        assertEquals(4, first.getCount("get") + second.getCount("get"));
+    }
+
+    @Test
+    public void retriesAFailedTopologyRefresh() throws Exception {
+        first.assignSlots(0, RedisClusterSlot.SLOTS - 1, first);
+        second.assignSlots(0, RedisClusterSlot.SLOTS - 1, first);
+        client = start(5);
+        first.assignSlots(SLOT, SLOT, second);
+        second.assignSlots(SLOT, SLOT, second);
+        first.reportSlots(0, RedisClusterSlot.SLOTS - 1, null);
+        second.reportSlots(0, RedisClusterSlot.SLOTS - 1, null);
+
+        assertEquals(null, client.runCommand("get", KEY).get().getString());
+        awaitRefreshFailures(2);
+
+        first.reportSlots(0, RedisClusterSlot.SLOTS - 1, first);
+        first.reportSlots(SLOT, SLOT, second);
+        second.reportSlots(0, RedisClusterSlot.SLOTS - 1, first);
+        second.reportSlots(SLOT, SLOT, second);
+        long failures = client.getStatistics().getTopologyRefreshFailures();
+        long refreshes = first.getCount("cluster") + second.getCount("cluster");
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (first.getCount("cluster") + second.getCount("cluster") == refreshes && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(first.getCount("cluster") + second.getCount("cluster") > refreshes);
+        Thread.sleep(100);
+        assertEquals(failures, client.getStatistics().getTopologyRefreshFailures());
+    }
+
+    private void awaitRefreshFailures(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (client.getStatistics().getTopologyRefreshFailures() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(client.getStatistics().getTopologyRefreshFailures() >= expected);
+    }
+
+    private AsyncRedisClient start(int maxRedirects) {
+        return AsyncRedisBuilder.start(AsyncRedisConfiguration.withDefault()
+                .withClusterNodes(first.getHost() + ":" + first.getPort())
+                .withMaxRedirects(maxRedirects), 5, TimeUnit.SECONDS);
+    }
+
+    private static final String KEY = "foo";
+    private static final String SCRIPT = "return redis.call('get', KEYS[1])";
+    private static final int SLOT = RedisClusterSlot.getSlot(KEY);
+
+}
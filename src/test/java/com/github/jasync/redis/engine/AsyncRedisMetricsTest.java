@@ -0,0 +1,41 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.AsyncRedisClient;
+import com.github.jasync.redis.RedisHistogram;
+import com.github.jasync.redis.RedisStandInServer;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class AsyncRedisMetricsTest {
+
+    @Test
+    public void recordsCommandsUnderTheirLowerCaseName() throws Exception {
+        try (RedisStandInServer server = new RedisStandInServer()) {
+            AsyncRedisClient client = AsyncRedisBuilder.start(AsyncRedisConfiguration.withDefault()
+                    .withHost(server.getHost())
+                    .withPort(server.getPort())
+                    .withMetrics(true), 5, TimeUnit.SECONDS);
+            try {
+                client.runCommand("SET", "foo", "bar").get();
+                client.runCommand("set", "foo", "bar").get();
+                long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+                while (getCount(client) < 2 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(10);
+                }
+                assertEquals(Collections.singleton("set"), client.getStatistics().getWireTimes().keySet());
+                assertEquals(2, getCount(client));
+            } finally {
+                client.shutdown();
+            }
+        }
+    }
+
+    private static long getCount(AsyncRedisClient client) {
+        return client.getStatistics().getWireTimes().values().stream().mapToLong(RedisHistogram::getCount).sum();
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.github.jasync.redis.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AsyncRedisReadRouterTest {
+
+    @Test
+    public void routesReadsToReplicas() {
+        assertTrue(AsyncRedisReadRouter.isReadOnly("get"));
+        assertTrue(AsyncRedisReadRouter.isReadOnly("HGETALL"));
+        assertTrue(AsyncRedisReadRouter.isReadOnly("xrange"));
+    }
+
+    @Test
+    public void keepsWritesAndBlockingReadsOnThePrimary() {
+        assertFalse(AsyncRedisReadRouter.isReadOnly("set"));
+        assertFalse(AsyncRedisReadRouter.isReadOnly("xread"));
+        assertFalse(AsyncRedisReadRouter.isReadOnly("XREAD"));
+        assertFalse(AsyncRedisReadRouter.isReadOnly("blpop"));
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.AsyncRedisClient;
+import com.github.jasync.redis.JavaRedisBufferDeserializer;
+import com.github.jasync.redis.RedisStandInServer;
+import com.github.jasync.redis.utils.RedisConverter;
+import io.netty.buffer.ByteBuf;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncRedisScanTest {
+
+    private RedisStandInServer server;
+    private AsyncRedisClient client;
+    private List<ByteBuf> created;
+    private JavaRedisBufferDeserializer deserializer;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new RedisStandInServer();
+        client = AsyncRedisBuilder.start(AsyncRedisConfiguration.withDefault()
+                .withHost(server.getHost())
+                .withPort(server.getPort()), 5, TimeUnit.SECONDS);
+        for (int i = 0; i < KEYS; i++) {
+            client.runCommand("set", "key:" + i, "value").get();
+        }
+        created = new CopyOnWriteArrayList<>();
+        deserializer = buffer -> {
+            ByteBuf copy = buffer.copy();
+            created.add(copy);
+            return copy;
+        };
+    }
+
+    @After
+    public void tearDown() {
+        client.shutdown();
+        server.close();
+    }
+
+    @Test
+    public void releasesPagesLeftOverWhenTheStreamIsClosed() throws Exception {
+        Iterator<Object> iterator;
+        try (Stream<Object> stream = client.buildScan("scan", null).withCount(PAGE_SIZE).withPrefetch(PREFETCH)
+                .withDeserializer(deserializer).stream()) {
+            iterator = stream.iterator();
+            for (int i = 0; i < PAGE_SIZE / 2; i++) {
+                RedisConverter.release(iterator.next());
+            }
+        }
+        awaitReleased(PAGE_SIZE * 2);
+    }
+
+    @Test
+    public void releasesThePrefetchedPageWhenTheConsumerFails() throws Exception {
+        CompletableFuture<Void> done = client.buildScan("scan", null).withCount(PAGE_SIZE).withDeserializer(deserializer)
+                .forEachPage(page -> {
+                    RedisConverter.release(page);
+                    throw new IllegalStateException("The page can not be consumed");
+                });
+        try {
+            done.get(5, TimeUnit.SECONDS);
+            fail("The scan has been completed");
+        } catch (ExecutionException ex) {
+            assertEquals("The page can not be consumed", ex.getCause().getMessage());
+        }
+        awaitReleased(PAGE_SIZE * 2);
+    }
+
+    private void awaitReleased(int minimum) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (System.currentTimeMillis() < deadline && (created.size() < minimum || countRetained() > 0)) {
+            Thread.sleep(10);
+        }
+        assertTrue(String.valueOf(created.size()), created.size() >= minimum);
+        assertEquals(0, countRetained());
+    }
+
+    private long countRetained() {
+        return created.stream().filter(buffer -> buffer.refCnt() > 0).count();
+    }
+
+    private static final int KEYS = 100;
+    private static final int PAGE_SIZE = 10;
+    private static final int PREFETCH = 2;
+
+}
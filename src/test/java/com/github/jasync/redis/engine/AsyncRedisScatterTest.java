@@ -0,0 +1,135 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.AsyncRedisClient;
+import com.github.jasync.redis.RedisReport;
+import com.github.jasync.redis.RedisStandInServer;
+import com.github.jasync.redis.utils.RedisClusterSlot;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncRedisScatterTest {
+
+    private RedisStandInServer first;
+    private RedisStandInServer second;
+    private AsyncRedisClient client;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        first = new RedisStandInServer();
+        second = new RedisStandInServer();
+        for (RedisStandInServer server : Arrays.asList(first, second)) {
+            server.assignSlots(0, HALF - 1, first);
+            server.assignSlots(HALF, RedisClusterSlot.SLOTS - 1, second);
+        }
+        client = AsyncRedisBuilder.start(AsyncRedisConfiguration.withDefault()
+                .withClusterNodes(first.getHost() + ":" + first.getPort()), 5, TimeUnit.SECONDS);
+    }
+
+    @After
+    public void tearDown() {
+        client.shutdown();
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void mergesValuesInKeyOrder() throws Exception {
+        List<String> keys = keys();
+        assertEquals("OK", client.runCommand("mset", keys.get(0), "0", keys.get(1), "1", keys.get(2), "2", keys.get(3), "3").get().getString());
+
+        List<Object> values = client.runCommand("mget", keys.get(3), keys.get(0), "missing", keys.get(2), keys.get(1)).get().getList();
+
+        assertEquals(Arrays.asList("3", "0", null, "2", "1"), values);
+        assertEquals(slots(keys.get(0), keys.get(1), keys.get(2), keys.get(3)), first.getCount("mset") + second.getCount("mset"));
+        assertEquals(slots(keys.get(0), keys.get(1), keys.get(2), keys.get(3), "missing"), first.getCount("mget") + second.getCount("mget"));
+        assertTrue(first.getCount("mget") > 0);
+        assertTrue(second.getCount("mget") > 0);
+    }
+
+    @Test
+    public void sumsCounts() throws Exception {
+        List<String> keys = keys();
+        for (String key : keys) {
+            client.runCommand("set", key, key).get();
+        }
+
+        assertEquals(4L, client.runCommand("exists", keys.get(0), keys.get(1), keys.get(2), keys.get(3), "missing").get().getType());
+        assertEquals(4L, client.runCommand("del", keys.get(0), keys.get(1), keys.get(2), keys.get(3)).get().getType());
+        assertEquals(0L, client.runCommand("exists", keys.get(0), keys.get(1)).get().getType());
+    }
+
+    @Test
+    public void keepsSinglePartitionCommandsWhole() {
+        assertNull(AsyncRedisScatter.split("mget", "{a}1", new Object[]{"{a}2", "{a}3"}, AsyncRedisClusterClientImpl::getSlot));
+        assertNull(AsyncRedisScatter.split("get", "a", new Object[]{"b"}, AsyncRedisClusterClientImpl::getSlot));
+        assertNull(AsyncRedisScatter.split("mset", "a", new Object[]{"1", "b"}, AsyncRedisClusterClientImpl::getSlot));
+    }
+
+    @Test
+    public void failsWhenAPartFails() throws Exception {
+        AsyncRedisScatter scatter = AsyncRedisScatter.split("mget", "a", new Object[]{"b", "c"}, key -> "b".equals(key) ? 1 : 0);
+        List<AsyncRedisScatter.Part> parts = new ArrayList<>();
+        CompletableFuture<RedisReport> result = scatter.gather(part -> {
+            parts.add(part);
+            CompletableFuture<RedisReport> future = new CompletableFuture<>();
+            if (part.getPartition() == 1) {
+                future.completeExceptionally(new IllegalStateException("down"));
+            } else {
+                future.complete(new AsyncRedisResponse(Arrays.asList("a", "c")));
+            }
+            return future;
+        }, 0);
+
+        assertEquals(2, parts.size());
+        try {
+            result.get();
+            fail("The scatter has been completed");
+        } catch (ExecutionException ex) {
+            assertEquals("down", ex.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void rejectsAShortPartReply() throws Exception {
+        AsyncRedisScatter scatter = AsyncRedisScatter.split("mget", "a", new Object[]{"b", "c"}, key -> "b".equals(key) ? 1 : 0);
+        CompletableFuture<RedisReport> result = scatter.gather(part -> CompletableFuture.completedFuture(
+                new AsyncRedisResponse(new ArrayList<>(Arrays.asList("x")))), 0);
+
+        try {
+            result.get();
+            fail("The scatter has been completed");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    private static long slots(String... keys) {
+        return Arrays.stream(keys).mapToInt(RedisClusterSlot::getSlot).distinct().count();
+    }
+
+    private static List<String> keys() {
+        List<String> firstHalf = new ArrayList<>();
+        List<String> secondHalf = new ArrayList<>();
+        for (int i = 0; firstHalf.size() < 2 || secondHalf.size() < 2; i++) {
+            String key = "key" + i;
+            (RedisClusterSlot.getSlot(key) < HALF ? firstHalf : secondHalf).add(key);
+        }
+        return Arrays.asList(firstHalf.get(0), secondHalf.get(0), firstHalf.get(1), secondHalf.get(1));
+    }
+
+    private static final int HALF = RedisClusterSlot.SLOTS / 2;
+
+}
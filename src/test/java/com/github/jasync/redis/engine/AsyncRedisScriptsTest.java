@@ -0,0 +1,60 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.AsyncRedisClient;
+import com.github.jasync.redis.RedisStandInServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class AsyncRedisScriptsTest {
+
+    private RedisStandInServer server;
+    private AsyncRedisClient client;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        server = new RedisStandInServer();
+        client = AsyncRedisBuilder.start(AsyncRedisConfiguration.withDefault()
+                .withHost(server.getHost())
+                .withPort(server.getPort())
+                .withMaxActiveChannels(1), 5, TimeUnit.SECONDS);
+    }
+
+    @After
+    public void tearDown() {
+        client.shutdown();
+        server.close();
+    }
+
+    @Test
+    public void loadsTheScriptOncePerConnection() throws Exception {
+        assertEquals(SCRIPT, client.runScript(SCRIPT, 0).get().getString());
+        assertEquals(SCRIPT, client.runScript(SCRIPT, 0).get().getString());
+
+        assertEquals(1, server.getCount("script"));
+        assertEquals(2, server.getCount("evalsha"));
+        assertEquals(0, server.getCount("eval"));
+    }
+
+    @Test
+    public void retriesWithEvalAfterAFlush() throws Exception {
+        assertEquals(SCRIPT, client.runScript(SCRIPT, 0).get().getString());
+        assertEquals("OK", client.runCommand("script", "flush").get().getString());
+
+        assertEquals(SCRIPT, client.runScript(SCRIPT, 0).get().getString());
+        assertEquals(2, server.getCount("evalsha"));
+        assertEquals(1, server.getCount("eval"));
+
+        assertEquals(SCRIPT, client.runScript(SCRIPT, 0).get().getString());
+        assertEquals(3, server.getCount("script"));
+        assertEquals(3, server.getCount("evalsha"));
+        assertEquals(1, server.getCount("eval"));
+    }
+
+    private static final String SCRIPT = "return redis.call('get', KEYS[1])";
+
+}
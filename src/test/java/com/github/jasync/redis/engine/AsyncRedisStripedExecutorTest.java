@@ -0,0 +1,50 @@
+package com.github.jasync.redis.engine;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class AsyncRedisStripedExecutorTest {
+
+    @Test
+    public void runsRejectedTasksOnTheCallingThread() {
+        AtomicInteger calls = new AtomicInteger();
+        Executor executor = task -> {
+            if (calls.incrementAndGet() % 2 == 0) {
+                throw new RejectedExecutionException();
+            }
+            task.run();
+        };
+        AsyncRedisStripedExecutor striped = new AsyncRedisStripedExecutor(executor, 2);
+        List<Integer> seen = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            int value = i;
+            striped.execute(KEY, () -> seen.add(value));
+        }
+        assertEquals(TASKS, seen.size());
+        for (int i = 0; i < TASKS; i++) {
+            assertEquals(i, seen.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void keepsRunningAfterAFailedTask() {
+        AsyncRedisStripedExecutor striped = new AsyncRedisStripedExecutor(Runnable::run, 1);
+        AtomicInteger runs = new AtomicInteger();
+        striped.execute(KEY, () -> {
+            throw new IllegalStateException("The listener has failed");
+        });
+        striped.execute(KEY, runs::incrementAndGet);
+        assertEquals(1, runs.get());
+    }
+
+    private static final String KEY = "news";
+    private static final int TASKS = 100;
+
+}
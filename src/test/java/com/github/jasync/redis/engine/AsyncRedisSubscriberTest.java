@@ -0,0 +1,52 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.RedisMessageListener;
+import com.github.jasync.redis.RedisStandInServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class AsyncRedisSubscriberTest {
+
+    private RedisStandInServer server;
+    private AsyncRedisSubscriber subscriber;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        server = new RedisStandInServer();
+        subscriber = new AsyncRedisSubscriber(server.getHost(), server.getPort(), 1, BATCH_SIZE,
+                RECONNECT_DELAY, RECONNECT_DELAY, Runnable::run, 1);
+        subscriber.start();
+    }
+
+    @After
+    public void tearDown() {
+        subscriber.shutdown();
+        server.close();
+    }
+
+    @Test
+    public void rejectsASecondListenerForTheSameChannel() throws Exception {
+        RedisMessageListener first = (channel, message) -> { };
+        RedisMessageListener second = (channel, message) -> { };
+        subscriber.subscribe(first, "news").get(5, TimeUnit.SECONDS);
+        subscriber.subscribe(first, "news").get(5, TimeUnit.SECONDS);
+        try {
+            subscriber.subscribe(second, "sports", "news");
+            fail("The channel has been subscribed twice");
+        } catch (IllegalStateException ex) {
+            assertEquals("The channel news has already been subscribed by another listener", ex.getMessage());
+        }
+        subscriber.subscribe(second, "sports").get(5, TimeUnit.SECONDS);
+        assertEquals(3, server.getCount("subscribe"));
+    }
+
+    private static final int BATCH_SIZE = 16;
+    private static final long RECONNECT_DELAY = 10;
+
+}
@@ -0,0 +1,50 @@
+package com.github.jasync.redis.engine;
+
+import com.github.jasync.redis.RedisStandInServer;
+import org.junit.Test;
+
+import java.net.ConnectException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncRedisTrackerTest {
+
+    @Test
+    public void failsTheStartWhenTrackingCanNotConnect() throws Exception {
+        RedisStandInServer server = new RedisStandInServer();
+        server.close();
+        try {
+            start(server);
+            fail("The client has been started");
+        } catch (IllegalStateException ex) {
+            assertTrue(String.valueOf(ex.getCause().getCause()), ex.getCause().getCause() instanceof ConnectException);
+        }
+    }
+
+    @Test
+    public void failsTheStartWhenTrackingIsRejected() throws Exception {
+        try (RedisStandInServer server = new RedisStandInServer()) {
+            try {
+                start(server);
+                fail("The client has been started");
+            } catch (IllegalStateException ex) {
+                assertEquals("ERR unknown command 'client'", ex.getCause().getCause().getMessage());
+            }
+        }
+    }
+
+    private static void start(RedisStandInServer server) {
+        AsyncRedisBuilder.start(AsyncRedisConfiguration.withDefault()
+                .withHost(server.getHost())
+                .withPort(server.getPort())
+                .withMinActiveChannels(0)
+                .withNearCache(NEAR_CACHE_SIZE, NEAR_CACHE_TIME_TO_LIVE, TimeUnit.SECONDS), 5, TimeUnit.SECONDS);
+    }
+
+    private static final int NEAR_CACHE_SIZE = 16;
+    private static final long NEAR_CACHE_TIME_TO_LIVE = 60;
+
+}
@@ -0,0 +1,246 @@
+package com.github.jasync.redis.utils;
+
+import com.github.jasync.redis.JavaRedisDeserializer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+import io.netty.util.CharsetUtil;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class NettyRedisDecoderTest {
+
+    @Test
+    public void decodesRepliesSplitAtEveryByte() {
+        String replies = "+OK\r\n:42\r\n$5\r\nhello\r\n$-1\r\n*-1\r\n*0\r\n*2\r\n*2\r\n:1\r\n$3\r\nfoo\r\n$0\r\n\r\n-ERR bad\r\n";
+        List<Object> expected = Arrays.asList("OK", 42L, "hello", null, null, Collections.emptyList(),
+                Arrays.asList(Arrays.asList(1L, "foo"), ""), "ERR bad");
+        byte[] bytes = replies.getBytes(CharsetUtil.UTF_8);
+        for (int split = 1; split < bytes.length; split++) {
+            Listener listener = new Listener();
+            EmbeddedChannel channel = new EmbeddedChannel(new NettyRedisDecoder(listener));
+            channel.writeInbound(Unpooled.wrappedBuffer(bytes, 0, split));
+            channel.writeInbound(Unpooled.wrappedBuffer(bytes, split, bytes.length - split));
+            assertEquals("split at " + split, expected, listener.events);
+            channel.finish();
+        }
+    }
+
+    @Test
+    public void decodesRepliesFedByteByByte() {
+        Listener listener = new Listener();
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyRedisDecoder(listener));
+        for (byte b : "*3\r\n*1\r\n*1\r\n:7\r\n$-1\r\n*0\r\n".getBytes(CharsetUtil.UTF_8)) {
+            channel.writeInbound(Unpooled.wrappedBuffer(new byte[]{b}));
+        }
+        assertEquals(Collections.singletonList(Arrays.asList(Collections.singletonList(Collections.singletonList(7L)),
+                null, Collections.emptyList())), listener.events);
+    }
+
+    @Test
+    public void decodesNullBulkStringAndArray() {
+        assertEquals(Arrays.asList(null, null, Arrays.asList(null, "a")), decode(new Listener(), "$-1\r\n*-1\r\n*2\r\n$-1\r\n$1\r\na\r\n"));
+    }
+
+    @Test
+    public void decodesNumbersAtTheLongRange() {
+        assertEquals(Arrays.asList(Long.MAX_VALUE, Long.MIN_VALUE),
+                decode(new Listener(), ":9223372036854775807\r\n:-9223372036854775808\r\n"));
+    }
+
+    @Test
+    public void rejectsOverflowingIntegers() {
+        for (String reply : new String[]{":9223372036854775808\r\n", ":-9223372036854775809\r\n", ":99999999999999999999\r\n"}) {
+            try {
+                decode(new Listener(), reply);
+                fail("The reply has been decoded: " + reply);
+            } catch (DecoderException ex) {
+                assertTrue(ex.getMessage(), ex.getMessage().contains("out of range"));
+            }
+        }
+    }
+
+    @Test
+    public void rejectsOverflowingBulkNumbers() {
+        Listener listener = new Listener();
+        listener.longReply = true;
+        List<Object> events = decode(listener, "$19\r\n9223372036854775807\r\n$19\r\n9223372036854775808\r\n");
+        assertEquals(2, events.size());
+        assertEquals("long:" + Long.MAX_VALUE, events.get(0));
+        assertTrue(String.valueOf(events.get(1)), String.valueOf(events.get(1)).startsWith("The reply is not a number"));
+    }
+
+    @Test
+    public void decodesLongArrays() {
+        Listener listener = new Listener();
+        listener.longReply = true;
+        List<Object> events = decode(listener, "*3\r\n:1\r\n$2\r\n-2\r\n:3\r\n");
+        assertEquals(1, events.size());
+        assertArrayEquals(new long[]{1, -2, 3}, (long[]) events.get(0));
+    }
+
+    @Test
+    public void decodesResp3Types() {
+        Map<Object, Object> map = new LinkedHashMap<>();
+        map.put("a", 1L);
+        map.put("b", Arrays.asList(true, false));
+        List<Object> events = decode(new Listener(),
+                "%2\r\n+a\r\n:1\r\n+b\r\n*2\r\n#t\r\n#f\r\n"
+                        + "~2\r\n+x\r\n+y\r\n"
+                        + "_\r\n"
+                        + ",1.5\r\n,inf\r\n,-inf\r\n"
+                        + "(12345678901234567890123\r\n"
+                        + "=15\r\ntxt:Some string\r\n"
+                        + "!11\r\nSYNTAX fail\r\n");
+        assertEquals(map, events.get(0));
+        assertEquals(new LinkedHashSet<>(Arrays.asList("x", "y")), events.get(1));
+        assertNull(events.get(2));
+        assertEquals(1.5, events.get(3));
+        assertEquals(Double.POSITIVE_INFINITY, events.get(4));
+        assertEquals(Double.NEGATIVE_INFINITY, events.get(5));
+        assertEquals(new BigInteger("12345678901234567890123"), events.get(6));
+        assertEquals("Some string", events.get(7));
+        assertEquals("SYNTAX fail", events.get(8));
+        assertEquals(9, events.size());
+    }
+
+    @Test
+    public void deliversPushMessagesApart() {
+        Listener listener = new Listener();
+        List<Object> events = decode(listener, ">2\r\n+invalidate\r\n*1\r\n$3\r\nkey\r\n:5\r\n");
+        assertEquals(Collections.singletonList(5L), events);
+        assertEquals(Collections.singletonList(Arrays.asList("invalidate", Collections.singletonList("key"))), listener.pushes);
+    }
+
+    @Test
+    public void skipsAttributes() {
+        List<Object> events = decode(new Listener(),
+                "|1\r\n+key-popularity\r\n%1\r\n$1\r\na\r\n,0.19\r\n:5\r\n"
+                        + "*2\r\n|1\r\n+ttl\r\n:3\r\n:1\r\n:2\r\n");
+        assertEquals(Arrays.asList(5L, Arrays.asList(1L, 2L)), events);
+    }
+
+    @Test
+    public void keepsReadingPartialRepliesWithoutAutoRead() {
+        Listener listener = new Listener();
+        ReadCounter reads = new ReadCounter();
+        EmbeddedChannel channel = new EmbeddedChannel(reads, new NettyRedisDecoder(listener));
+        channel.config().setAutoRead(false);
+        int before = reads.count;
+        channel.writeInbound(Unpooled.copiedBuffer("$5\r\nhel", CharsetUtil.UTF_8));
+        assertTrue(reads.count > before);
+        channel.writeInbound(Unpooled.copiedBuffer("lo\r\n", CharsetUtil.UTF_8));
+        assertEquals(Collections.singletonList("hello"), listener.events);
+    }
+
+    @Test
+    public void stopsReadingWhileSuspended() {
+        Listener listener = new Listener();
+        listener.readSuspended = true;
+        ReadCounter reads = new ReadCounter();
+        EmbeddedChannel channel = new EmbeddedChannel(reads, new NettyRedisDecoder(listener));
+        channel.config().setAutoRead(false);
+        int before = reads.count;
+        channel.writeInbound(Unpooled.copiedBuffer("+OK\r\n", CharsetUtil.UTF_8));
+        assertEquals(before, reads.count);
+        assertTrue(listener.events.isEmpty());
+        listener.readSuspended = false;
+        channel.writeInbound(Unpooled.EMPTY_BUFFER);
+        assertEquals(Collections.singletonList("OK"), listener.events);
+    }
+
+    private static List<Object> decode(Listener listener, String replies) {
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyRedisDecoder(listener));
+        ByteBuf buffer = Unpooled.copiedBuffer(replies, CharsetUtil.UTF_8);
+        try {
+            channel.writeInbound(buffer);
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+        return listener.events;
+    }
+
+    private static final class Listener implements RedisReplyListener {
+
+        private final List<Object> events = new ArrayList<>();
+        private final List<List<Object>> pushes = new ArrayList<>();
+        private boolean longReply;
+        private boolean readSuspended;
+
+        @Override
+        public JavaRedisDeserializer getReplyDeserializer() {
+            return null;
+        }
+
+        @Override
+        public boolean isLongReply() {
+            return longReply;
+        }
+
+        @Override
+        public boolean isStreamReply() {
+            return false;
+        }
+
+        @Override
+        public boolean isReadSuspended() {
+            return readSuspended;
+        }
+
+        @Override
+        public void onElement(Object element) {
+            events.add(element);
+        }
+
+        @Override
+        public void onReply(Object reply) {
+            events.add(reply);
+        }
+
+        @Override
+        public void onLong(long reply) {
+            events.add("long:" + reply);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            events.add(error.getMessage());
+        }
+
+        @Override
+        public void onPush(List<Object> message) {
+            pushes.add(message);
+        }
+
+    }
+
+    private static final class ReadCounter extends ChannelOutboundHandlerAdapter {
+
+        private int count;
+
+        @Override
+        public void read(ChannelHandlerContext ctx) throws Exception {
+            count++;
+            super.read(ctx);
+        }
+
+    }
+
+}
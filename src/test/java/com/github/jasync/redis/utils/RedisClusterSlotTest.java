@@ -0,0 +1,50 @@
+package com.github.jasync.redis.utils;
+
+import io.netty.util.CharsetUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class RedisClusterSlotTest {
+
+    @Test
+    public void hashesWithCrc16() {
+        assertEquals(12739, RedisClusterSlot.getSlot("123456789"));
+        assertEquals(12182, RedisClusterSlot.getSlot("foo"));
+        assertEquals(0, RedisClusterSlot.getSlot(""));
+    }
+
+    @Test
+    public void hashesOnlyTheHashtag() {
+        assertEquals(RedisClusterSlot.getSlot("user1000"), RedisClusterSlot.getSlot("{user1000}.following"));
+        assertEquals(RedisClusterSlot.getSlot("user1000"), RedisClusterSlot.getSlot("{user1000}.followers"));
+        assertEquals(RedisClusterSlot.getSlot("bar"), RedisClusterSlot.getSlot("foo{bar}{zap}"));
+    }
+
+    @Test
+    public void hashesTheWholeKeyWithoutAHashtag() {
+        assertEquals(RedisClusterSlot.getSlot("foo{}{bar}"), crc("foo{}{bar}"));
+        assertEquals(RedisClusterSlot.getSlot("foo{bar"), crc("foo{bar"));
+        assertNotEquals(RedisClusterSlot.getSlot("bar"), RedisClusterSlot.getSlot("foo{}{bar}"));
+    }
+
+    @Test
+    public void hashesStringsAndBytesAlike() {
+        for (String key : new String[]{"foo", "{user1000}.following", "foo{}{bar}", "\u043a\u043b\u044e\u0447", "{\u043a\u043b\u044e\u0447}.x", "a{b"}) {
+            assertEquals(key, RedisClusterSlot.getSlot(key), RedisClusterSlot.getSlot(key.getBytes(CharsetUtil.UTF_8)));
+        }
+    }
+
+    private static int crc(String key) {
+        int crc = 0;
+        for (byte b : key.getBytes(CharsetUtil.UTF_8)) {
+            crc ^= (b & 0xFF) << 8;
+            for (int i = 0; i < 8; i++) {
+                crc = (crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1;
+            }
+        }
+        return crc & 0xFFFF & (RedisClusterSlot.SLOTS - 1);
+    }
+
+}